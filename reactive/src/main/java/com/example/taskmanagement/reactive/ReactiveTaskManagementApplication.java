@@ -0,0 +1,39 @@
+package com.example.taskmanagement.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Non-blocking implementation of the task management API on WebFlux and R2DBC.
+ * It serves the same /task and /user contract as the servlet application, against the same database.
+ */
+// Users come from app_users through UserController; no generated in-memory user is needed.
+@SpringBootApplication(exclude = ReactiveUserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
+public class ReactiveTaskManagementApplication {
+
+    public static void main(String[] args) {
+        loadEnvironment();
+        SpringApplication.run(ReactiveTaskManagementApplication.class, args);
+    }
+
+    /**
+     * Copies the settings from .env into system properties, deriving the R2DBC URL from the JDBC one.
+     */
+    public static void loadEnvironment() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+        String r2dbcUrl = dotenv.get("R2DBC_URL");
+        if (r2dbcUrl == null) {
+            // Query parameters of the JDBC URL are pgJDBC driver options, which R2DBC does not understand.
+            r2dbcUrl = dotenv.get("DB_URL").replaceFirst("^jdbc:", "r2dbc:").replaceFirst("\\?.*$", "");
+        }
+        System.setProperty("R2DBC_URL", r2dbcUrl);
+    }
+}
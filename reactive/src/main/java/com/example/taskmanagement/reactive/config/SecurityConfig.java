@@ -0,0 +1,45 @@
+package com.example.taskmanagement.reactive.config;
+
+import com.example.taskmanagement.reactive.repository.UserRepository;
+import com.example.taskmanagement.reactive.security.JwtAuthenticationWebFilter;
+import com.example.taskmanagement.reactive.security.JwtUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+
+    public SecurityConfig(JwtUtil jwtUtil, UserRepository userRepository) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                // Stateless: the token is checked on every request and nothing is kept in a session.
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/user/register", "/user/login", "/user/refresh").permitAll()
+                        .anyExchange().authenticated())
+                // Unauthenticated requests get 403, like the servlet application.
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint((exchange, e) ->
+                        Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN))))
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtUtil, userRepository), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.taskmanagement.reactive.controller;
+
+import com.example.taskmanagement.reactive.dto.BulkOperationResult;
+import com.example.taskmanagement.reactive.dto.TaskCreationRequest;
+import com.example.taskmanagement.reactive.model.Task;
+import com.example.taskmanagement.reactive.service.AuthenticatedUser;
+import com.example.taskmanagement.reactive.service.TaskService;
+import com.example.taskmanagement.reactive.util.CursorCodec;
+import com.example.taskmanagement.reactive.util.ETags;
+import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * REST controller for managing tasks, with the request and response contract of the
+ * servlet application's TaskController.
+ */
+@RestController
+@RequestMapping("/task")
+public class TaskController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_BULK_IDS = 1000;
+
+    private final TaskService taskService;
+
+    public TaskController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Handles GET requests to /task.
+     * - If an 'id' parameter is provided, retrieves a single task by its ID.
+     * - Otherwise retrieves a page of the user's tasks, optionally with the given completion status.
+     * When more tasks follow, the cursor for the next page is returned in the X-Next-Cursor header.
+     * Lists carry an ETag that changes whenever any of the user's tasks changes.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getTasks(@RequestParam(required = false) Long id,
+                                            @RequestParam(required = false) Boolean completed,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @AuthenticationPrincipal AuthenticatedUser user,
+                                            ServerWebExchange exchange) {
+        if (id != null) {
+            return taskService.getTaskById(id, user.id())
+                    .<ResponseEntity<?>>map(task -> withETag(ResponseEntity.ok(), task).body(task))
+                    .defaultIfEmpty(ResponseEntity.notFound().build());
+        }
+
+        Long afterId;
+        try {
+            afterId = cursor != null ? CursorCodec.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body("Invalid cursor"));
+        }
+
+        // The revision is read before the list, so the ETag can never be newer than the content.
+        return taskService.getTaskRevision(user.id()).flatMap(revision -> {
+            String eTag = ETags.ofRevision(user.id(), revision);
+            if (exchange.checkNotModified(eTag)) {
+                return Mono.just(privateList(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag).build());
+            }
+            return taskService.getTasks(user.id(), completed, afterId, limit).map(page -> {
+                ResponseEntity.BodyBuilder response = privateList(ResponseEntity.ok(), eTag);
+                if (page.hasNext()) {
+                    response.header(NEXT_CURSOR_HEADER, CursorCodec.encode(page.getNextAfterId()));
+                }
+                return response.body(page.getTasks());
+            });
+        });
+    }
+
+    /**
+     * A list depends on who asks for it, so shared caches must not store it and any cache must key it
+     * by the Authorization header; clients still revalidate it with the ETag before reusing it.
+     */
+    private static ResponseEntity.BodyBuilder privateList(ResponseEntity.BodyBuilder builder, String eTag) {
+        return builder.eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.AUTHORIZATION);
+    }
+
+    /**
+     * Handles GET requests to /task/export.
+     * Streams all of the user's tasks as newline-delimited JSON. Rows are read from the database
+     * only as fast as the client consumes them.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> exportTasks(@AuthenticationPrincipal AuthenticatedUser user) {
+        return taskService.streamTasks(user.id());
+    }
+
+    /**
+     * Handles POST requests to /task.
+     * Creates a new task.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Task>> createTask(@Valid @RequestBody TaskCreationRequest taskRequest,
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        return taskService.createTask(taskRequest, user.id())
+                .map(task -> withETag(ResponseEntity.status(HttpStatus.CREATED), task).body(task));
+    }
+
+    /**
+     * Handles PUT requests to /task.
+     * Updates an existing task; with an If-Match header, only while it exists and its ETag still matches.
+     */
+    @PutMapping
+    public Mono<ResponseEntity<Task>> updateTask(@RequestBody Task taskDetails,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch != null ? ETags.parseIfMatch(ifMatch) : null;
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+        }
+        return taskService.updateTask(taskDetails, user.id(), expectedVersion)
+                .map(task -> withETag(ResponseEntity.ok(), task).body(task))
+                .defaultIfEmpty(missing(ifMatch))
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()));
+    }
+
+    /**
+     * Handles POST requests to /task/complete.
+     * Completes the listed tasks, or all of the user's open tasks.
+     */
+    @PostMapping("/complete")
+    public Mono<ResponseEntity<?>> completeTasks(@RequestParam(required = false) List<Long> ids,
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        if (ids != null && ids.size() > MAX_BULK_IDS) {
+            return Mono.just(ResponseEntity.badRequest().body("At most " + MAX_BULK_IDS + " ids may be given"));
+        }
+        return taskService.completeTasks(ids, user.id()).map(count -> ResponseEntity.ok(new BulkOperationResult(count)));
+    }
+
+    /**
+     * Handles DELETE requests to /task.
+     * - If an 'id' parameter is provided, deletes a single task, honouring If-Match.
+     * - If an 'ids' parameter is provided, deletes the listed tasks and returns how many were deleted.
+     * - If a 'completed' parameter is provided, deletes all tasks with that status and returns how many were deleted.
+     * - If no parameters are provided, deletes all tasks.
+     */
+    @DeleteMapping
+    public Mono<ResponseEntity<?>> deleteTasks(@RequestParam(required = false) Long id,
+                                               @RequestParam(required = false) List<Long> ids,
+                                               @RequestParam(required = false) Boolean completed,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @AuthenticationPrincipal AuthenticatedUser user) {
+        if (id != null) {
+            Long expectedVersion;
+            try {
+                expectedVersion = ifMatch != null ? ETags.parseIfMatch(ifMatch) : null;
+            } catch (IllegalArgumentException e) {
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+            }
+            return taskService.deleteTask(id, user.id(), expectedVersion)
+                    .<ResponseEntity<?>>map(deleted -> deleted
+                            ? ResponseEntity.noContent().build()
+                            : missing(ifMatch))
+                    .onErrorResume(OptimisticLockingFailureException.class,
+                            e -> Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()));
+        } else if (ids != null) {
+            if (ids.size() > MAX_BULK_IDS) {
+                return Mono.just(ResponseEntity.badRequest().body("At most " + MAX_BULK_IDS + " ids may be given"));
+            }
+            return taskService.deleteTasks(ids, user.id()).map(count -> ResponseEntity.ok(new BulkOperationResult(count)));
+        } else if (completed != null) {
+            return taskService.deleteTasksByCompletionStatus(completed, user.id())
+                    .map(count -> ResponseEntity.ok(new BulkOperationResult(count)));
+        }
+        return taskService.deleteAllTasks(user.id()).thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * The response for a task that does not exist: 404, but 412 when the request had an If-Match header,
+     * which (even "*") is false when there is no current representation (RFC 9110, section 13.1.1).
+     */
+    private static <T> ResponseEntity<T> missing(String ifMatch) {
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Task task) {
+        return task.getVersion() != null ? builder.eTag(ETags.of(task.getVersion())) : builder;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.taskmanagement.reactive.controller;
+
+import com.example.taskmanagement.reactive.dto.AuthenticationRequest;
+import com.example.taskmanagement.reactive.dto.AuthenticationResponse;
+import com.example.taskmanagement.reactive.dto.RefreshTokenRequest;
+import com.example.taskmanagement.reactive.repository.UserRepository;
+import com.example.taskmanagement.reactive.security.JwtUtil;
+import com.example.taskmanagement.reactive.security.PasswordHasher;
+import com.example.taskmanagement.reactive.security.PasswordHashingRejectedException;
+import com.example.taskmanagement.reactive.service.AuthenticatedUser;
+import com.example.taskmanagement.reactive.service.RefreshTokenService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/user")
+public class UserController {
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+
+    public UserController(UserRepository userRepository, PasswordHasher passwordHasher, JwtUtil jwtUtil,
+                          RefreshTokenService refreshTokenService) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    /**
+     * Registers a user with a single insert; a taken username is detected by the unique index.
+     */
+    @PostMapping("/register")
+    public Mono<ResponseEntity<?>> registerUser(@RequestBody AuthenticationRequest registrationRequest) {
+        return passwordHasher.encode(registrationRequest.getPassword())
+                .flatMap(hash -> userRepository.insertIfAbsent(registrationRequest.getUsername(), hash))
+                .<ResponseEntity<?>>map(id -> ResponseEntity.ok("User registered successfully"))
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Username is already taken"))
+                .onErrorResume(PasswordHashingRejectedException.class, e -> Mono.just(tooBusy(e)));
+    }
+
+    /**
+     * Issues tokens for a username and password. An unknown username still costs a password check,
+     * so it is answered no sooner than a wrong password.
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> createAuthenticationToken(@RequestBody AuthenticationRequest authenticationRequest) {
+        return userRepository.findByUsername(authenticationRequest.getUsername())
+                .switchIfEmpty(passwordHasher.matchesUnknownUser(authenticationRequest.getPassword()).then(Mono.empty()))
+                .filterWhen(user -> passwordHasher.matches(authenticationRequest.getPassword(), user.getPassword()))
+                .flatMap(user -> refreshTokenService.issue(user.getId())
+                        .<ResponseEntity<?>>map(refreshToken -> ResponseEntity.ok(new AuthenticationResponse(
+                                jwtUtil.generateToken(new AuthenticatedUser(user.getId(), user.getUsername())), refreshToken))))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password: Bad credentials"))
+                .onErrorResume(PasswordHashingRejectedException.class, e -> Mono.just(tooBusy(e)));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, without checking the
+     * password again. Each refresh token works once; reusing one revokes the tokens issued after it.
+     */
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<?>> refreshAuthenticationToken(@RequestBody RefreshTokenRequest refreshRequest) {
+        String refreshToken = refreshRequest.getRefreshToken();
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return Mono.just(ResponseEntity.badRequest().body("Refresh token is required"));
+        }
+        return refreshTokenService.rotate(refreshToken)
+                .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(new AuthenticationResponse(
+                        jwtUtil.generateToken(rotation.user()), rotation.refreshToken())))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired refresh token"));
+    }
+
+    /**
+     * Password hashing is saturated; the client should retry shortly rather than wait on this request.
+     */
+    private static ResponseEntity<?> tooBusy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskmanagement.reactive.dto;
+
+import com.example.taskmanagement.reactive.model.Task;
+
+import java.util.List;
+
+/**
+ * One page of a user's tasks, in id order.
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final Long nextAfterId;
+
+    public TaskPage(List<Task> tasks, Long nextAfterId) {
+        this.tasks = tasks;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @return the id to continue after for the next page, or null if this is the last page.
+     */
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+}
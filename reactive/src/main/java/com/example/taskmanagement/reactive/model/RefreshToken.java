@@ -0,0 +1,91 @@
+package com.example.taskmanagement.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A row of the "refresh_tokens" table: a refresh token issued to a user, which can be exchanged once.
+ * Tokens issued by either application can be exchanged at both.
+ */
+@Table("refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private Long id;
+
+    /**
+     * SHA-256 hash of the token; the token itself is only known to the client.
+     */
+    @Column("token_hash")
+    private byte[] tokenHash;
+
+    /**
+     * Shared by all tokens rotated from the same login.
+     */
+    @Column("family_id")
+    private UUID familyId;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("expires_at")
+    private Instant expiresAt;
+
+    /**
+     * When the token was exchanged, or null while it can still be used.
+     */
+    @Column("used_at")
+    private Instant usedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public UUID getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(UUID familyId) {
+        this.familyId = familyId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Instant getUsedAt() {
+        return usedAt;
+    }
+
+    public void setUsedAt(Instant usedAt) {
+        this.usedAt = usedAt;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskmanagement.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the "user_task_state" table: the revision and counts of one user's tasks.
+ * Both applications keep it up to date, so list ETags and counts stay correct whichever one made a change.
+ */
+@Table("user_task_state")
+public class UserTaskState {
+
+    @Id
+    @Column("user_id")
+    private Long userId;
+
+    private Long revision;
+
+    @Column("task_count")
+    private Long taskCount;
+
+    @Column("completed_count")
+    private Long completedCount;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public Long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(Long taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public Long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(Long completedCount) {
+        this.completedCount = completedCount;
+    }
+}
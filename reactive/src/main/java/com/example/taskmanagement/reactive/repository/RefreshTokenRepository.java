@@ -0,0 +1,28 @@
+package com.example.taskmanagement.reactive.repository;
+
+import com.example.taskmanagement.reactive.model.RefreshToken;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends R2dbcRepository<RefreshToken, Long> {
+
+    /**
+     * @return the family of a token that has already been exchanged, or empty if there is none.
+     */
+    @Query("select family_id from refresh_tokens where token_hash = :tokenHash and used_at is not null")
+    Mono<UUID> findFamilyIdOfUsedToken(@Param("tokenHash") byte[] tokenHash);
+
+    @Modifying
+    @Query("delete from refresh_tokens where family_id = :familyId")
+    Mono<Integer> deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from refresh_tokens where expires_at < :now")
+    Mono<Integer> deleteExpired(@Param("now") Instant now);
+}
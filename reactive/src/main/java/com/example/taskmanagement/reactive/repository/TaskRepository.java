@@ -0,0 +1,105 @@
+package com.example.taskmanagement.reactive.repository;
+
+import com.example.taskmanagement.reactive.model.Task;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * The statements of the servlet application's TaskRepository, on R2DBC.
+ * Every statement is scoped by user_id and served by the same indexes.
+ */
+public interface TaskRepository extends R2dbcRepository<Task, Long> {
+
+    /**
+     * Keyset pagination over a user's tasks, in id order. Served by the (user_id, id) index.
+     */
+    @Query("select * from tasks where user_id = :userId and id > :afterId order by id limit :limit")
+    Flux<Task> findPage(@Param("userId") Long userId, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Keyset pagination over a user's tasks with the given completion status.
+     * Served by the (user_id, completed, id) index.
+     */
+    @Query("""
+            select * from tasks
+             where user_id = :userId and completed = :completed and id > :afterId
+             order by id limit :limit
+            """)
+    Flux<Task> findPageByCompleted(@Param("userId") Long userId, @Param("completed") boolean completed,
+                                   @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query("select * from tasks where id = :id and user_id = :userId")
+    Mono<Task> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select exists (select 1 from tasks where id = :id and user_id = :userId)")
+    Mono<Boolean> existsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Inserts a task. The servlet application takes ids from tasks_seq in blocks of 50, each
+     * block ending at the value nextval returned; using that value directly as the id takes
+     * a block no one else uses, so ids never collide.
+     */
+    @Query("""
+            insert into tasks (id, title, description, completed, version, user_id)
+            values (nextval('tasks_seq'), :title, :description, false, 0, :userId)
+            returning *
+            """)
+    Mono<Task> insert(@Param("title") String title, @Param("description") String description,
+                      @Param("userId") Long userId);
+
+    /**
+     * Deletes a single task if it belongs to the user and, if expectedVersion is given, is still at that version.
+     *
+     * @return whether the deleted task was completed, or empty if nothing was deleted.
+     */
+    @Query("""
+            delete from tasks
+             where id = :id and user_id = :userId
+               and (cast(:expectedVersion as bigint) is null or version = cast(:expectedVersion as bigint))
+            returning completed
+            """)
+    Mono<Boolean> deleteReturningCompleted(@Param("id") Long id, @Param("userId") Long userId,
+                                           @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying
+    @Query("update tasks set completed = true, version = version + 1 where user_id = :userId and completed = false")
+    Mono<Integer> completeAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+            update tasks set completed = true, version = version + 1
+             where user_id = :userId and id in (:ids) and completed = false
+            """)
+    Mono<Integer> completeByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query("""
+            with deleted as (delete from tasks where user_id = :userId returning completed)
+            select count(*) as total, count(*) filter (where completed) as completed from deleted
+            """)
+    Mono<DeletedTaskCounts> deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            with deleted as (delete from tasks where user_id = :userId and id in (:ids) returning completed)
+            select count(*) as total, count(*) filter (where completed) as completed from deleted
+            """)
+    Mono<DeletedTaskCounts> deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from tasks where user_id = :userId and completed = :completed")
+    Mono<Integer> deleteByUserIdAndCompleted(@Param("userId") Long userId, @Param("completed") boolean completed);
+
+    /**
+     * How many tasks a delete removed, and how many of those were completed.
+     */
+    interface DeletedTaskCounts {
+        long getTotal();
+
+        long getCompleted();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.taskmanagement.reactive.repository;
+
+import com.example.taskmanagement.reactive.model.User;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+public interface UserRepository extends R2dbcRepository<User, Long> {
+
+    Mono<User> findByUsername(String username);
+
+    /**
+     * Inserts the user unless the username is taken, in one statement backed by the unique username index.
+     *
+     * @return the new user's id, or empty if the username is already taken.
+     */
+    @Query("""
+            insert into app_users (username, password) values (:username, :password)
+            on conflict (username) do nothing
+            returning id
+            """)
+    Mono<Long> insertIfAbsent(@Param("username") String username, @Param("password") String password);
+}
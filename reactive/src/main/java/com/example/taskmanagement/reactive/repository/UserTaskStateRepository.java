@@ -0,0 +1,29 @@
+package com.example.taskmanagement.reactive.repository;
+
+import com.example.taskmanagement.reactive.model.UserTaskState;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+public interface UserTaskStateRepository extends R2dbcRepository<UserTaskState, Long> {
+
+    @Query("select revision from user_task_state where user_id = :userId")
+    Mono<Long> findRevisionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Increments the user's task revision and adjusts their task counts, creating the row on
+     * the user's first change. Counts that have not been initialised yet stay null.
+     */
+    @Modifying
+    @Query("""
+            insert into user_task_state (user_id, revision) values (:userId, 1)
+            on conflict (user_id) do update
+               set revision = user_task_state.revision + 1,
+                   task_count = user_task_state.task_count + :taskDelta,
+                   completed_count = user_task_state.completed_count + :completedDelta
+            """)
+    Mono<Integer> recordChange(@Param("userId") Long userId, @Param("taskDelta") long taskDelta,
+                               @Param("completedDelta") long completedDelta);
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanagement.reactive.security;
+
+import com.example.taskmanagement.reactive.repository.UserRepository;
+import com.example.taskmanagement.reactive.service.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Collections;
+
+/**
+ * The reactive counterpart of the servlet application's JwtRequestFilter: authenticates
+ * requests carrying a valid bearer token. Verification is an HMAC over the token, cheap
+ * enough to run on the event loop. Requests without a valid token continue unauthenticated
+ * and are rejected by the security rules.
+ *
+ * Not a bean, so it only runs inside the security filter chain and not a second time as a plain WebFilter.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+
+    public JwtAuthenticationWebFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseAndVerify(authorizationHeader.substring(BEARER_PREFIX.length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired token: continue unauthenticated and let Spring Security reject the request.
+            return chain.filter(exchange);
+        }
+
+        // The chain itself completes empty, so it is run exactly once, after the principal is resolved.
+        return principal(claims)
+                .map(user -> ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList())))
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    /**
+     * The token carries the user id, so the principal is built without touching the database.
+     * Only tokens issued before the id claim existed fall back to a lookup by username.
+     */
+    private Mono<AuthenticatedUser> principal(Claims claims) {
+        Long userId = JwtUtil.getUserId(claims);
+        if (userId != null) {
+            return Mono.just(new AuthenticatedUser(userId, claims.getSubject()));
+        }
+        return userRepository.findByUsername(claims.getSubject())
+                .map(user -> new AuthenticatedUser(user.getId(), user.getUsername()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanagement.reactive.security;
+
+import com.example.taskmanagement.reactive.service.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Issues and verifies tokens in the servlet application's format: HS256, the username as subject
+ * and the user's id in the "uid" claim, valid for {@code jwt.access-token-ttl}.
+ */
+@Component
+public class JwtUtil {
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final Duration accessTokenTtl;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.access-token-ttl:15m}") Duration accessTokenTtl) {
+        this.accessTokenTtl = accessTokenTtl;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    /**
+     * Parses the token and verifies its signature and expiry in a single pass.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired.
+     */
+    public Claims parseAndVerify(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * @return the user's database id, or null for tokens issued before the claim was introduced.
+     */
+    public static Long getUserId(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    public String generateToken(AuthenticatedUser user) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of(USER_ID_CLAIM, user.id()))
+                .setSubject(user.username())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenTtl.toMillis()))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanagement.reactive.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * BCrypt hashing off the event loop. Hashing takes tens of milliseconds of CPU, which would stall
+ * every connection served by the same event-loop thread, so it runs on a dedicated pool with one
+ * thread per CPU (security.password.max-concurrent-hashes). About security.password.max-queued-hashes
+ * more may wait for a thread; beyond that a hash fails at once with {@link PasswordHashingRejectedException}.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final Scheduler scheduler;
+    // Checked against when the user does not exist, so that takes as long as a wrong password
+    private final String unknownUserHash = passwordEncoder.encode("unknown-user-password");
+
+    public PasswordHasher(@Value("${security.password.max-concurrent-hashes:0}") int maxConcurrentHashes,
+                          @Value("${security.password.max-queued-hashes:100}") int maxQueuedHashes) {
+        int threads = maxConcurrentHashes > 0 ? maxConcurrentHashes : Runtime.getRuntime().availableProcessors();
+        // The scheduler bounds the queue of each thread, so the total is split between them
+        int queuedPerThread = Math.max(1, (maxQueuedHashes + threads - 1) / threads);
+        this.scheduler = Schedulers.newBoundedElastic(threads, queuedPerThread, "password-hashing");
+    }
+
+    public Mono<String> encode(String rawPassword) {
+        return hash(Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return hash(Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Checks a password for a user that does not exist: always false, but only after as much work as
+     * {@link #matches}, so response times do not tell which usernames exist.
+     */
+    public Mono<Boolean> matchesUnknownUser(String rawPassword) {
+        return matches(rawPassword, unknownUserHash).thenReturn(false);
+    }
+
+    private <T> Mono<T> hash(Mono<T> hash) {
+        return hash.subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> new PasswordHashingRejectedException());
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanagement.reactive.service;
+
+/**
+ * The principal of an authenticated request: the user's id and username, taken from the verified token.
+ */
+public record AuthenticatedUser(Long id, String username) {
+}
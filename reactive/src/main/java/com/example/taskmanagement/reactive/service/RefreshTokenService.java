@@ -0,0 +1,136 @@
+package com.example.taskmanagement.reactive.service;
+
+import com.example.taskmanagement.reactive.model.RefreshToken;
+import com.example.taskmanagement.reactive.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens in the servlet application's format, against the same table,
+ * so a refresh token from either application can be exchanged at both.
+ *
+ * A refresh token is a random string that can be exchanged once: the exchange marks it used and
+ * returns a new token of the same family. Exchanging a used token means it was copied, so the
+ * whole family is revoked and the user has to log in again. Only SHA-256 hashes of tokens are stored.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    // Marks the token as used if it is unused and unexpired, in one statement on the token hash index.
+    // Of two concurrent exchanges of the same token only one gets a row.
+    private static final String MARK_USED = """
+            with used as (
+                update refresh_tokens set used_at = :now
+                 where token_hash = :tokenHash and used_at is null and expires_at > :now
+                returning user_id, family_id)
+            select used.user_id, u.username, used.family_id
+              from used join app_users u on u.id = used.user_id
+            """;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final DatabaseClient databaseClient;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, DatabaseClient databaseClient,
+                               @Value("${jwt.refresh-token-ttl:30d}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.databaseClient = databaseClient;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * Issues the first token of a new family, at login.
+     */
+    @Transactional
+    public Mono<String> issue(Long userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one of the same family.
+     *
+     * @return the token's user and the new refresh token, or empty if the token is unknown, expired or
+     *         already used. A reused token also revokes every other token of its family.
+     */
+    @Transactional
+    public Mono<Rotation> rotate(String refreshToken) {
+        byte[] tokenHash = hash(refreshToken);
+        return databaseClient.sql(MARK_USED)
+                .bind("tokenHash", tokenHash)
+                .bind("now", Instant.now())
+                .map(row -> new UsedRefreshToken(row.get("user_id", Long.class), row.get("username", String.class),
+                        row.get("family_id", UUID.class)))
+                .one()
+                .flatMap(used -> issue(used.userId(), used.familyId())
+                        .map(token -> new Rotation(new AuthenticatedUser(used.userId(), used.username()), token)))
+                .switchIfEmpty(Mono.defer(() -> revokeFamilyOfUsedToken(tokenHash)));
+    }
+
+    private Mono<Rotation> revokeFamilyOfUsedToken(byte[] tokenHash) {
+        return refreshTokenRepository.findFamilyIdOfUsedToken(tokenHash)
+                .flatMap(familyId -> {
+                    log.warn("Refresh token reused; revoking its token family {}", familyId);
+                    return refreshTokenRepository.deleteByFamilyId(familyId);
+                })
+                .then(Mono.empty());
+    }
+
+    /**
+     * @return the number of expired tokens deleted.
+     */
+    @Scheduled(initialDelayString = "${jwt.refresh-token-purge-interval:PT1H}",
+            fixedDelayString = "${jwt.refresh-token-purge-interval:PT1H}")
+    @Transactional
+    public Mono<Integer> purgeExpired() {
+        return refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private Mono<String> issue(Long userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUserId(userId);
+        refreshToken.setExpiresAt(Instant.now().plus(refreshTokenTtl));
+        return refreshTokenRepository.save(refreshToken).thenReturn(token);
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record UsedRefreshToken(Long userId, String username, UUID familyId) {
+    }
+
+    /**
+     * The user a refresh token belonged to, and the token that replaces it.
+     */
+    public record Rotation(AuthenticatedUser user, String refreshToken) {
+    }
+}
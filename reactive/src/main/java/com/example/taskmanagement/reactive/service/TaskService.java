@@ -0,0 +1,237 @@
+package com.example.taskmanagement.reactive.service;
+
+import com.example.taskmanagement.reactive.dto.TaskCreationRequest;
+import com.example.taskmanagement.reactive.dto.TaskPage;
+import com.example.taskmanagement.reactive.model.Task;
+import com.example.taskmanagement.reactive.repository.TaskRepository;
+import com.example.taskmanagement.reactive.repository.TaskRepository.DeletedTaskCounts;
+import com.example.taskmanagement.reactive.repository.UserTaskStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Task operations with the same semantics as the servlet application's TaskService,
+ * as non-blocking pipelines. Every change also records it in the user's task revision
+ * and counts, in the same transaction.
+ */
+@Service
+public class TaskService {
+
+    // Rows fetched per round trip when streaming; the stream requests more only as the client consumes.
+    static final int EXPORT_FETCH_SIZE = 500;
+
+    // Applies the non-null arguments to a task owned by the user. The subquery locks the row and reads
+    // its previous completion status, which RETURNING cannot see otherwise. If expectedVersion is given,
+    // the row is only updated while it is still at that version.
+    private static final String UPDATE_PARTIALLY = """
+            update tasks
+               set title = coalesce(cast(:title as varchar), tasks.title),
+                   description = coalesce(cast(:description as text), tasks.description),
+                   completed = coalesce(cast(:completed as boolean), tasks.completed),
+                   version = tasks.version + 1
+              from (select id, completed from tasks where id = :id and user_id = :userId for update) old
+             where tasks.id = old.id
+               and (cast(:expectedVersion as bigint) is null or tasks.version = cast(:expectedVersion as bigint))
+            returning old.completed as previous_completed, tasks.*
+            """;
+
+    private final TaskRepository taskRepository;
+    private final UserTaskStateRepository userTaskStateRepository;
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    @Value("${task.page.default-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${task.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    public TaskService(TaskRepository taskRepository, UserTaskStateRepository userTaskStateRepository,
+                       DatabaseClient databaseClient, R2dbcConverter converter) {
+        this.taskRepository = taskRepository;
+        this.userTaskStateRepository = userTaskStateRepository;
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+    }
+
+    /**
+     * @return the revision of the user's tasks, which changes whenever any of them changes.
+     */
+    public Mono<Long> getTaskRevision(Long userId) {
+        return userTaskStateRepository.findRevisionByUserId(userId).defaultIfEmpty(0L);
+    }
+
+    /**
+     * Retrieves one page of the user's tasks, optionally filtered by completion status.
+     *
+     * @param afterId Optional id to continue after (from the previous page's cursor).
+     * @param limit   Optional page size, capped at the configured maximum.
+     */
+    public Mono<TaskPage> getTasks(Long userId, Boolean completed, Long afterId, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        long after = afterId == null ? 0L : afterId;
+
+        // Fetch one extra row to learn whether another page follows without a count query.
+        Flux<Task> tasks = completed == null
+                ? taskRepository.findPage(userId, after, pageSize + 1)
+                : taskRepository.findPageByCompleted(userId, completed, after, pageSize + 1);
+        return tasks.collectList().map(list -> {
+            if (list.size() <= pageSize) {
+                return new TaskPage(list, null);
+            }
+            List<Task> page = list.subList(0, pageSize);
+            return new TaskPage(page, page.get(pageSize - 1).getId());
+        });
+    }
+
+    public Mono<Task> getTaskById(Long id, Long userId) {
+        return taskRepository.findByIdAndUserId(id, userId);
+    }
+
+    /**
+     * Streams all of the user's tasks in id order. Rows are fetched in batches as the subscriber
+     * requests them, so a slow client holds back the query instead of filling memory.
+     */
+    public Flux<Task> streamTasks(Long userId) {
+        return databaseClient.sql("select * from tasks where user_id = :userId order by id")
+                .bind("userId", userId)
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map((row, metadata) -> converter.read(Task.class, row, metadata))
+                .all();
+    }
+
+    @Transactional
+    public Mono<Task> createTask(TaskCreationRequest request, Long userId) {
+        return taskRepository.insert(request.getTitle(), request.getDescription(), userId)
+                .flatMap(task -> recordChange(userId, 1, 0).thenReturn(task));
+    }
+
+    /**
+     * Applies the non-null fields of taskDetails to the user's task with one UPDATE statement,
+     * which also returns the previous completion status, to keep the counts exact.
+     *
+     * @param expectedVersion Optional version the task must still be at (from If-Match).
+     * @return the updated task, or empty if it was not found.
+     * @throws OptimisticLockingFailureException (as an error signal) if the task exists but is
+     *         no longer at the expected version.
+     */
+    @Transactional
+    public Mono<Task> updateTask(Task taskDetails, Long userId, Long expectedVersion) {
+        Long id = taskDetails.getId();
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql(UPDATE_PARTIALLY)
+                .bind("id", id)
+                .bind("userId", userId);
+        update = bindNullable(update, "title", taskDetails.getTitle(), String.class);
+        update = bindNullable(update, "description", taskDetails.getDescription(), String.class);
+        update = bindNullable(update, "completed", taskDetails.getCompleted(), Boolean.class);
+        update = bindNullable(update, "expectedVersion", expectedVersion, Long.class);
+        return update
+                .map((row, metadata) -> new UpdatedTask(converter.read(Task.class, row, metadata),
+                        row.get("previous_completed", Boolean.class)))
+                .one()
+                .flatMap(updated -> recordChange(userId, 0,
+                        completedCount(updated.task().getCompleted()) - completedCount(updated.previousCompleted()))
+                        .thenReturn(updated.task()))
+                .switchIfEmpty(expectedVersion != null ? checkNotModifiedConcurrently(id, userId) : Mono.empty());
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    /**
+     * Deletes a single task with one DELETE statement scoped to the user.
+     *
+     * @return true if the task was deleted, false if it was not found.
+     */
+    @Transactional
+    public Mono<Boolean> deleteTask(Long id, Long userId, Long expectedVersion) {
+        return taskRepository.deleteReturningCompleted(id, userId, expectedVersion)
+                .flatMap(completed -> recordChange(userId, -1, -completedCount(completed)).thenReturn(true))
+                .switchIfEmpty(expectedVersion != null
+                        ? checkNotModifiedConcurrently(id, userId).thenReturn(false)
+                        : Mono.just(false));
+    }
+
+    /**
+     * Called only after a conditional write matched no row, to tell a missing task (404)
+     * apart from one that has changed since the client read it (412).
+     */
+    private <T> Mono<T> checkNotModifiedConcurrently(Long id, Long userId) {
+        return taskRepository.existsByIdAndUserId(id, userId).flatMap(exists -> exists
+                ? Mono.error(new OptimisticLockingFailureException("Task " + id + " has been modified"))
+                : Mono.empty());
+    }
+
+    /**
+     * Marks tasks as completed with a single UPDATE statement.
+     *
+     * @param ids The tasks to complete, or null for all of the user's open tasks.
+     * @return the number of tasks that changed from open to completed.
+     */
+    @Transactional
+    public Mono<Integer> completeTasks(Collection<Long> ids, Long userId) {
+        Mono<Integer> completed = ids == null
+                ? taskRepository.completeAllByUserId(userId)
+                : ids.isEmpty() ? Mono.just(0) : taskRepository.completeByUserIdAndIdIn(userId, ids);
+        return completed.flatMap(count -> count > 0 ? recordChange(userId, 0, count).thenReturn(count) : Mono.just(count));
+    }
+
+    @Transactional
+    public Mono<Void> deleteAllTasks(Long userId) {
+        return taskRepository.deleteAllByUserId(userId).flatMap(deleted -> recordDeletion(userId, deleted)).then();
+    }
+
+    /**
+     * @return the number of tasks deleted.
+     */
+    @Transactional
+    public Mono<Integer> deleteTasks(Collection<Long> ids, Long userId) {
+        if (ids.isEmpty()) {
+            return Mono.just(0);
+        }
+        return taskRepository.deleteByUserIdAndIdIn(userId, ids).flatMap(deleted -> recordDeletion(userId, deleted));
+    }
+
+    /**
+     * @return the number of tasks deleted.
+     */
+    @Transactional
+    public Mono<Integer> deleteTasksByCompletionStatus(boolean completed, Long userId) {
+        return taskRepository.deleteByUserIdAndCompleted(userId, completed).flatMap(count -> count > 0
+                ? recordChange(userId, -count, completed ? -count : 0).thenReturn(count)
+                : Mono.just(count));
+    }
+
+    private Mono<Integer> recordDeletion(Long userId, DeletedTaskCounts deleted) {
+        int total = (int) deleted.getTotal();
+        return total > 0
+                ? recordChange(userId, -total, -deleted.getCompleted()).thenReturn(total)
+                : Mono.just(0);
+    }
+
+    /**
+     * Records a change to the user's tasks by incrementing their revision and adjusting their counts.
+     * Must run in the same transaction as the change, and only if something changed.
+     */
+    private Mono<Void> recordChange(Long userId, long taskDelta, long completedDelta) {
+        return userTaskStateRepository.recordChange(userId, taskDelta, completedDelta).then();
+    }
+
+    private record UpdatedTask(Task task, Boolean previousCompleted) {
+    }
+
+    private static int completedCount(Boolean completed) {
+        return Boolean.TRUE.equals(completed) ? 1 : 0;
+    }
+}
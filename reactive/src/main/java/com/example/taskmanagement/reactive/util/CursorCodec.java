@@ -0,0 +1,36 @@
+package com.example.taskmanagement.reactive.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position of a task listing as an opaque continuation token,
+ * so clients do not come to rely on its structure.
+ *
+ * The token is only base64, not signed: a client can decode it and craft one for any position.
+ * That is harmless because listings are always scoped to the authenticated user on the server,
+ * so a crafted cursor can only skip to another position among the caller's own tasks.
+ */
+public final class CursorCodec {
+
+    private static final String PREFIX = "t1:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Long afterId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + afterId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(Long)}.
+     */
+    public static Long decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return Long.valueOf(decoded.substring(PREFIX.length()));
+    }
+}
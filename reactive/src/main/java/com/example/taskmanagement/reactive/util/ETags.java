@@ -0,0 +1,40 @@
+package com.example.taskmanagement.reactive.util;
+
+/**
+ * Strong entity tags derived from a task's version or a user's task revision.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @return the entity tag of a user's task list at the given revision of their tasks.
+     *         Revisions are counted per user, so the user is part of the tag: otherwise two users at
+     *         the same revision would share a tag, and a cache could answer one with the other's list.
+     */
+    public static String ofRevision(long userId, long revision) {
+        return "\"u" + userId + "r" + revision + "\"";
+    }
+
+    /**
+     * Parses an If-Match header value.
+     *
+     * @return the version the client expects, or null for "*" (any current version).
+     * @throws IllegalArgumentException if the value is not a single strong ETag produced by {@link #of(Long)}.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("Not a strong entity tag: " + ifMatch);
+        }
+        return Long.valueOf(value.substring(1, value.length() - 1));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.taskmanagement.reactive.controller;
+
+import com.example.taskmanagement.reactive.ReactiveTaskManagementApplication;
+import com.example.taskmanagement.reactive.dto.AuthenticationResponse;
+import com.example.taskmanagement.reactive.model.Task;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the reactive task and user endpoints end to end against the database in .env.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class TaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private String token;
+    private String refreshToken;
+
+    @BeforeAll
+    static void setupEnv() {
+        ReactiveTaskManagementApplication.loadEnvironment();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Map<String, String> credentials = Map.of("username", "reactive-" + UUID.randomUUID(), "password", "password");
+        webTestClient.post().uri("/user/register").bodyValue(credentials)
+                .exchange()
+                .expectStatus().isOk();
+        AuthenticationResponse login = webTestClient.post().uri("/user/login").bodyValue(credentials)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody();
+        token = login.getToken();
+        refreshToken = login.getRefreshToken();
+    }
+
+    @Test
+    void register_whenUsernameTaken_shouldReturnBadRequest() {
+        Map<String, String> credentials = Map.of("username", "reactive-" + UUID.randomUUID(), "password", "password");
+        webTestClient.post().uri("/user/register").bodyValue(credentials).exchange().expectStatus().isOk();
+
+        webTestClient.post().uri("/user/register").bodyValue(credentials)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Username is already taken");
+    }
+
+    @Test
+    void login_whenPasswordWrong_shouldReturnUnauthorized() {
+        webTestClient.post().uri("/user/login").bodyValue(Map.of("username", "nobody-" + UUID.randomUUID(), "password", "x"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void refresh_whenValidRefreshToken_shouldReturnNewTokens() {
+        AuthenticationResponse refreshed = refresh(refreshToken)
+                .expectStatus().isOk()
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody();
+
+        assertThat(refreshed.getToken()).isNotEmpty();
+        assertThat(refreshed.getRefreshToken()).isNotEmpty().isNotEqualTo(refreshToken);
+        webTestClient.get().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshed.getToken())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void refresh_whenRefreshTokenReused_shouldRevokeItsSuccessors() {
+        String rotatedRefreshToken = refresh(refreshToken)
+                .expectStatus().isOk()
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody().getRefreshToken();
+
+        refresh(refreshToken).expectStatus().isUnauthorized();
+        refresh(rotatedRefreshToken).expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void refresh_whenRefreshTokenMissing_shouldReturnBadRequest() {
+        webTestClient.post().uri("/user/refresh").bodyValue(Map.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getTasks_withoutToken_shouldReturnForbidden() {
+        webTestClient.get().uri("/task").exchange().expectStatus().isForbidden();
+    }
+
+    @Test
+    void createAndList_shouldReturnTasksAndNotModifiedForSameETag() {
+        // Arrange
+        Task created = webTestClient.post().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .bodyValue(Map.of("title", "Reactive task", "description", "desc"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody(Task.class).returnResult().getResponseBody();
+
+        // Act
+        var list = webTestClient.get().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Task.class).returnResult();
+        String eTag = list.getResponseHeaders().getETag();
+
+        // Assert
+        assertThat(list.getResponseBody()).extracting(Task::getId).containsExactly(created.getId());
+        webTestClient.get().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void getTasks_whenOtherUserAtSameRevision_shouldReturnDifferentETagAndIgnoreTheirs() {
+        // Arrange: two users who have not changed any tasks yet, so both are at revision 0
+        Map<String, String> credentials = Map.of("username", "reactive-" + UUID.randomUUID(), "password", "password");
+        webTestClient.post().uri("/user/register").bodyValue(credentials).exchange().expectStatus().isOk();
+        String otherToken = webTestClient.post().uri("/user/login").bodyValue(credentials)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody().getToken();
+
+        // Act
+        String eTag = webTestClient.get().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .expectBody().returnResult().getResponseHeaders().getETag();
+        String otherETag = webTestClient.get().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + otherToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseHeaders().getETag();
+
+        // Assert
+        assertThat(otherETag).isNotEqualTo(eTag);
+        webTestClient.get().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + otherToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void updateTask_whenIfMatchStale_shouldReturnPreconditionFailed() {
+        Task created = createTask("Versioned");
+
+        webTestClient.put().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MATCH, "\"" + created.getVersion() + "\"")
+                .bodyValue(Map.of("id", created.getId(), "completed", true))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.completed").isEqualTo(true);
+
+        webTestClient.put().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MATCH, "\"" + created.getVersion() + "\"")
+                .bodyValue(Map.of("id", created.getId(), "title", "Too late"))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void updateAndDelete_whenIfMatchAnyAndTaskMissing_shouldReturnPreconditionFailed() {
+        webTestClient.put().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MATCH, "*")
+                .bodyValue(Map.of("id", Long.MAX_VALUE, "title", "Missing"))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.delete().uri("/task?id=" + Long.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MATCH, "*")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void exportTasks_shouldStreamAllTasksAsNdjson() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            createTask("Export " + i);
+        }
+
+        // Act
+        List<Task> exported = webTestClient.get().uri("/task/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Task.class).getResponseBody()
+                .collectList().block();
+
+        // Assert
+        assertThat(exported).hasSize(5).extracting(Task::getTitle).startsWith("Export 0").endsWith("Export 4");
+    }
+
+    @Test
+    void deleteTasksByCompletionStatus_shouldReturnCount() {
+        Task done = createTask("Done");
+        createTask("Open");
+        webTestClient.post().uri("/task/complete?ids=" + done.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.affected").isEqualTo(1);
+
+        webTestClient.delete().uri("/task?completed=true").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.affected").isEqualTo(1);
+    }
+
+    private WebTestClient.ResponseSpec refresh(String refreshToken) {
+        return webTestClient.post().uri("/user/refresh").bodyValue(Map.of("refreshToken", refreshToken)).exchange();
+    }
+
+    private Task createTask(String title) {
+        return webTestClient.post().uri("/task").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .bodyValue(Map.of("title", title))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class).returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.taskmanagement.reactive.loadtest;
+
+import com.example.taskmanagement.reactive.ReactiveTaskManagementApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the reactive application with the servlet application under the same client load
+ * on the /task read endpoints, against the same database.
+ *
+ * The reactive application is started in this JVM. The servlet application is started
+ * separately (for example {@code mvn spring-boot:run} in the parent directory) and its base
+ * URL passed as {@code -Dloadtest.servlet-url=http://localhost:8080}; without it only the
+ * reactive application is measured. Both are driven by the same clients, request mix and
+ * duration. Excluded from the normal build; run with {@code mvn test -Ploadtest}, optionally
+ * with {@code -Dloadtest.clients=100,1000,5000} and {@code -Dloadtest.duration=PT20S}.
+ */
+@Tag("loadtest")
+class StackComparisonLoadTest {
+
+    private static final int TASKS = 50;
+
+    // Latencies are counted in 1ms buckets; the last bucket holds everything slower.
+    private static final int BUCKETS = 30_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setupEnv() {
+        ReactiveTaskManagementApplication.loadEnvironment();
+    }
+
+    @Test
+    void compareStacks() throws Exception {
+        int[] clientCounts = Arrays.stream(System.getProperty("loadtest.clients", "100,1000,5000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT20S"));
+        String servletUrl = System.getProperty("loadtest.servlet-url");
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %8s %10s %8s %8s %8s %8s", "stack", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveTaskManagementApplication.class)
+                .properties("server.port=0")
+                .run()) {
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            measure("reactive", baseUri, clientCounts, duration, report);
+        }
+        if (servletUrl != null) {
+            measure("servlet", URI.create(servletUrl), clientCounts, duration, report);
+        } else {
+            report.add("servlet   skipped, set -Dloadtest.servlet-url to include it");
+        }
+        report.forEach(System.out::println);
+    }
+
+    private void measure(String stack, URI baseUri, int[] clientCounts, Duration duration, List<String> report) throws Exception {
+        String token = setUpUser(baseUri);
+        for (int clients : clientCounts) {
+            Result result = run(baseUri, token, clients, duration);
+            report.add(String.format("%-9s %8d %10.0f %8d %8d %8d %8d", stack, clients, result.throughput(),
+                    result.percentile(0.50), result.percentile(0.99), result.maxMillis(), result.errors()));
+            assertTrue(result.requests() > 0, "no request completed on " + stack + " with " + clients + " clients");
+        }
+    }
+
+    /**
+     * Registers a user with some tasks and returns its token.
+     */
+    private String setUpUser(URI baseUri) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        String credentials = objectMapper.writeValueAsString(
+                Map.of("username", "loadtest-" + UUID.randomUUID(), "password", "password"));
+        client.send(post(baseUri.resolve("/user/register"), credentials, null), HttpResponse.BodyHandlers.discarding());
+        HttpResponse<String> login = client.send(post(baseUri.resolve("/user/login"), credentials, null),
+                HttpResponse.BodyHandlers.ofString());
+        String token = objectMapper.readTree(login.body()).get("token").asText();
+        for (int i = 0; i < TASKS; i++) {
+            client.send(post(baseUri.resolve("/task"), "{\"title\":\"load test task " + i + "\"}", token),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+        return token;
+    }
+
+    private Result run(URI baseUri, String token, int clients, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        List<Long> taskIds = new ArrayList<>();
+        HttpResponse<String> list = client.send(get(baseUri.resolve("/task"), token), HttpResponse.BodyHandlers.ofString());
+        for (JsonNode task : objectMapper.readTree(list.body())) {
+            taskIds.add(task.get("id").asLong());
+        }
+
+        AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        // Mostly list reads, some single-task reads; the same mix as ThreadModelLoadTest.
+                        URI uri = random.nextInt(5) == 0
+                                ? baseUri.resolve("/task?id=" + taskIds.get(random.nextInt(taskIds.size())))
+                                : baseUri.resolve("/task");
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(get(uri, token), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                            continue;
+                        }
+                        long millis = (System.nanoTime() - requestStart) / 1_000_000;
+                        histogram.incrementAndGet((int) Math.min(millis, BUCKETS - 1));
+                    }
+                });
+            }
+        } finally {
+            client.close();
+        }
+        return new Result(histogram, errors.sum(), System.nanoTime() - start);
+    }
+
+    private static HttpRequest get(URI uri, String token) {
+        return HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private static HttpRequest post(URI uri, String json, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private record Result(AtomicLongArray histogram, long errors, long elapsedNanos) {
+
+        long requests() {
+            long total = 0;
+            for (int i = 0; i < histogram.length(); i++) {
+                total += histogram.get(i);
+            }
+            return total;
+        }
+
+        double throughput() {
+            return requests() / (elapsedNanos / 1e9);
+        }
+
+        long percentile(double fraction) {
+            long threshold = (long) Math.ceil(requests() * fraction);
+            long seen = 0;
+            for (int i = 0; i < histogram.length(); i++) {
+                seen += histogram.get(i);
+                if (seen >= threshold && seen > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        long maxMillis() {
+            for (int i = histogram.length() - 1; i >= 0; i--) {
+                if (histogram.get(i) > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+    }
+}
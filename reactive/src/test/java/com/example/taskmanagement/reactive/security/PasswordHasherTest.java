@@ -0,0 +1,58 @@
+package com.example.taskmanagement.reactive.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void matches_shouldVerifyEncodedPassword() {
+        // Arrange
+        passwordHasher = new PasswordHasher(1, 1);
+        String hash = passwordHasher.encode("secret").block();
+
+        // Act & Assert
+        StepVerifier.create(passwordHasher.matches("secret", hash)).expectNext(true).verifyComplete();
+        StepVerifier.create(passwordHasher.matches("wrong", hash)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void matchesUnknownUser_shouldAlwaysBeFalse() {
+        // Arrange
+        passwordHasher = new PasswordHasher(1, 1);
+
+        // Act & Assert
+        StepVerifier.create(passwordHasher.matchesUnknownUser("unknown-user-password")).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void encode_whenThreadAndQueueAreFull_shouldRejectInsteadOfQueueing() {
+        // Arrange: one hashing thread and room for one waiting hash
+        passwordHasher = new PasswordHasher(1, 1);
+
+        // Act: three hashes at once, so the third finds the thread busy and the queue full
+        List<String> outcomes = Flux.range(0, 3)
+                .flatMap(i -> passwordHasher.encode("password" + i)
+                        .map(hash -> "hashed")
+                        .onErrorResume(PasswordHashingRejectedException.class, e -> Mono.just("rejected")))
+                .collectList()
+                .block();
+
+        // Assert
+        assertThat(outcomes).containsExactlyInAnyOrder("hashed", "hashed", "rejected");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    // A fixed 256-bit key, so runs are comparable; never used outside the benchmarks.
+    static final String JWT_SECRET = "YmVuY2htYXJrLXNlY3JldC1iZW5jaG1hcmstc2VjcmV0LWJlbmNobWFyaw==";
+
+    private Fixtures() {
+    }
+
+    /**
+     * @return tasks with ids 1 to count, every third one completed, owned by the given user.
+     */
+    static List<Task> tasks(int count, User user) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i + ", long enough to resemble a real one");
+            task.setCompleted(i % 3 == 0);
+            task.setVersion(0L);
+            task.setUser(user);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static List<Task> tasks(int count) {
+        return tasks(count, null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.dto.TaskView;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.repository.UserTaskStateRepository;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repository stubs backed by a map, so TaskService can be measured without a database.
+ *
+ * Only the repository methods used by the benchmarked service methods are implemented; any
+ * other call fails. Saved tasks get an id but are not kept, so the data set stays the same
+ * size however many iterations run.
+ */
+final class InMemoryRepositories {
+
+    private final NavigableMap<Long, Task> tasks = new TreeMap<>();
+    private final Map<Long, User> users;
+    private final AtomicLong nextId = new AtomicLong(1_000_000);
+    private final AtomicLong revision = new AtomicLong();
+
+    InMemoryRepositories(User user, List<Task> userTasks) {
+        this.users = Map.of(user.getId(), user);
+        userTasks.forEach(task -> tasks.put(task.getId(), task));
+    }
+
+    TaskRepository taskRepository() {
+        return stub(TaskRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Optional.ofNullable(tasks.get((Long) args[0]));
+            case "findViewsByUserIdAfter" ->
+                    views(page(users.get((Long) args[0]), null, (Long) args[1], (Limit) args[2]));
+            case "findViewsByUserIdAndCompletedAfter" ->
+                    views(page(users.get((Long) args[0]), (Boolean) args[1], (Long) args[2], (Limit) args[3]));
+            case "save" -> {
+                Task task = (Task) args[0];
+                task.setId(nextId.incrementAndGet());
+                task.setVersion(0L);
+                yield task;
+            }
+            default -> null;
+        });
+    }
+
+    UserRepository userRepository() {
+        return stub(UserRepository.class, (method, args) -> switch (method) {
+            case "getReferenceById" -> users.get((Long) args[0]);
+            default -> null;
+        });
+    }
+
+    UserTaskStateRepository userTaskStateRepository() {
+        return stub(UserTaskStateRepository.class, (method, args) -> switch (method) {
+            case "findRevisionByUserId" -> Optional.of(revision.get());
+            case "recordChange" -> {
+                revision.incrementAndGet();
+                yield 1;
+            }
+            default -> null;
+        });
+    }
+
+    private List<Task> page(User user, Boolean completed, Long afterId, Limit limit) {
+        List<Task> page = new ArrayList<>(limit.max());
+        for (Task task : tasks.tailMap(afterId, false).values()) {
+            if (task.getUser() == user && (completed == null || completed.equals(task.getCompleted()))) {
+                page.add(task);
+                if (page.size() == limit.max()) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    private static List<TaskView> views(List<Task> tasks) {
+        List<TaskView> views = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> views.add(TaskView.of(task)));
+        return views;
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, Handler handler) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(handler, args);
+            }
+            Object result = handler.handle(method.getName(), args);
+            if (result == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return result;
+        });
+        return type.cast(stub);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.config.JwtRequestFilter;
+import com.example.taskmanagement.service.AuthenticatedUser;
+import com.example.taskmanagement.util.JwtUtil;
+import com.example.taskmanagement.util.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole authentication filter for one request, from the Authorization header to the
+ * populated security context.
+ *
+ * With {@code tokenCached=false} the verified-token cache starts empty for every request, so the
+ * token signature is verified each time; otherwise requests are served from the cache, as repeat
+ * requests with the same token are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean tokenCached;
+
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(Fixtures.JWT_SECRET);
+        filter = newFilter();
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(
+                new AuthenticatedUser(42L, "benchmark-user", "", Collections.emptyList()));
+    }
+
+    @Setup(Level.Invocation)
+    public void resetTokenCache() {
+        if (!tokenCached) {
+            filter = newFilter();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtRequestFilter newFilter() {
+        // The user service is only consulted for tokens without a user id, which are not issued any more.
+        return new JwtRequestFilter(new VerifiedTokenCache(jwtUtil, 10_000), null);
+    }
+
+    @Benchmark
+    public MockHttpServletRequest authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task");
+        request.addHeader("Authorization", authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+
+    @Benchmark
+    public MockHttpServletRequest anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+}
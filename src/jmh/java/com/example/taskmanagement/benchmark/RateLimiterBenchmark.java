@@ -0,0 +1,96 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.config.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate-limit checks from as many threads as there are cores, compared with the same token bucket
+ * behind one lock.
+ *
+ * With {@code keys=1} every thread takes tokens from the same bucket, the worst case for contention
+ * (one user flooding the API); with more keys the threads mostly hit different buckets, as requests
+ * from many users do. A token refills every nanosecond, faster than they can be taken, so every
+ * check takes one and writes to its bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class RateLimiterBenchmark {
+
+    private static final int LIMIT = 1_000_000_000;
+    private static final Duration PERIOD = Duration.ofSeconds(1);
+
+    @Param({"1", "1024"})
+    private int keys;
+
+    private String[] keyNames;
+    private TokenBucketRateLimiter limiter;
+    private LockedRateLimiter lockedLimiter;
+
+    @Setup
+    public void setUp() {
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "user-" + i;
+        }
+        limiter = new TokenBucketRateLimiter(LIMIT, PERIOD, 100_000);
+        lockedLimiter = new LockedRateLimiter(LIMIT, PERIOD);
+    }
+
+    @Benchmark
+    public long lockFree() {
+        return limiter.tryAcquire(keyNames[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    @Benchmark
+    public long locked() {
+        return lockedLimiter.tryAcquire(keyNames[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    /**
+     * The same algorithm with all buckets in one map guarded by one lock.
+     */
+    private static final class LockedRateLimiter {
+
+        private final long tokenNanos;
+        private final long burstNanos;
+        private final Map<String, Long> fullAt = new HashMap<>();
+
+        LockedRateLimiter(int limit, Duration period) {
+            this.tokenNanos = period.toNanos() / limit;
+            this.burstNanos = period.toNanos() - tokenNanos;
+        }
+
+        synchronized long tryAcquire(String key) {
+            long now = System.nanoTime();
+            long from = Math.max(fullAt.getOrDefault(key, now), now);
+            long wait = from - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            fullAt.put(key, from + tokenNanos);
+            return 0;
+        }
+    }
+}
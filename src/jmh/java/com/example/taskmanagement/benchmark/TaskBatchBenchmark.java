@@ -0,0 +1,148 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.dto.TaskBatchOperation;
+import com.example.taskmanagement.dto.TaskBatchResult;
+import com.example.taskmanagement.dto.TaskCreationRequest;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaying a client's queued offline edits, half creates and half updates of existing tasks,
+ * two ways: as one POST /task/batch (TaskService.executeBatch: one transaction, JDBC batches) and
+ * as one call per edit (createTask and updateTask, each in its own transaction). The score is
+ * replays per second, so {@code operations} times the score is edits per second.
+ *
+ * Needs the database in .env; a user with seeded tasks is created for the run and deleted
+ * afterwards, and the tasks created during an iteration are deleted after it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBatchBenchmark {
+
+    private static final int SEEDED_TASKS = 100;
+
+    @Param({"10", "50"})
+    private int operations;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+    private User user;
+    private long lastSeededId;
+    private List<Long> seededIds;
+    private int replay;
+
+    @Setup
+    public void setUp() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("task.search.rebuild-on-startup=false", "sql.trace.sample-rate=0")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        userRepository = context.getBean(UserRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        user = userRepository.save(new User("benchmark-" + UUID.randomUUID(), ""));
+        List<Task> seeded = new ArrayList<>(SEEDED_TASKS);
+        for (Task task : Fixtures.tasks(SEEDED_TASKS, user)) {
+            task.setId(null);
+            task.setVersion(null);
+            seeded.add(task);
+        }
+        seededIds = context.getBean(TaskRepository.class).saveAll(seeded).stream().map(Task::getId).toList();
+        lastSeededId = seededIds.stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCreatedTasks() {
+        jdbcTemplate.update("delete from tasks where user_id = ? and id > ?", user.getId(), lastSeededId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        userRepository.delete(user);
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskBatchResult> batch() {
+        List<TaskBatchOperation> batch = new ArrayList<>(operations);
+        int replay = this.replay++;
+        for (int i = 0; i < operations; i++) {
+            TaskBatchOperation operation = new TaskBatchOperation();
+            if (i % 2 == 0) {
+                operation.setOp(TaskBatchOperation.Type.CREATE);
+                operation.setTitle("Offline task " + replay + "-" + i);
+            } else {
+                operation.setOp(TaskBatchOperation.Type.UPDATE);
+                operation.setId(seededId(replay, i));
+                operation.setTitle("Edited " + replay + "-" + i);
+            }
+            batch.add(operation);
+        }
+        return taskService.executeBatch(batch, user.getId());
+    }
+
+    @Benchmark
+    public int oneCallPerOperation() {
+        int replay = this.replay++;
+        int applied = 0;
+        for (int i = 0; i < operations; i++) {
+            if (i % 2 == 0) {
+                TaskCreationRequest request = new TaskCreationRequest();
+                request.setTitle("Offline task " + replay + "-" + i);
+                taskService.createTask(request, user.getId());
+                applied++;
+            } else {
+                Task details = new Task();
+                details.setId(seededId(replay, i));
+                details.setTitle("Edited " + replay + "-" + i);
+                if (taskService.updateTask(details, user.getId(), null).isPresent()) {
+                    applied++;
+                }
+            }
+        }
+        return applied;
+    }
+
+    private Long seededId(int replay, int operation) {
+        return seededIds.get((replay * operations + operation) % seededIds.size());
+    }
+}
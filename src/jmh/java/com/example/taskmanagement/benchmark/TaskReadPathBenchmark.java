@@ -0,0 +1,122 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.dto.TaskView;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and serializing a list of tasks from the database, as GET /task does, two ways:
+ * as managed entities in a read-write transaction (the previous read path, reproduced here with
+ * the same JPQL), and as TaskView projections in a read-only transaction (the current one).
+ *
+ * Needs the database in .env; a user with the largest list size of tasks is created for the run
+ * and deleted afterwards. Run with the GC profiler to see the allocation per call:
+ * {@code mvn -Pbenchmark verify -DskipTests -Djmh.args="TaskReadPathBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadPathBenchmark {
+
+    private static final int SEEDED_TASKS = 2000;
+
+    @Param({"100", "500", "2000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private ObjectMapper objectMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "task.search.rebuild-on-startup=false",
+                        // Entities would otherwise be served from the cache instead of hydrated from rows.
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        user = userRepository.save(new User("benchmark-" + UUID.randomUUID(), ""));
+        List<Task> seeded = new ArrayList<>(SEEDED_TASKS);
+        for (Task task : Fixtures.tasks(SEEDED_TASKS, user)) {
+            task.setId(null);
+            task.setVersion(null);
+            seeded.add(task);
+        }
+        taskRepository.saveAll(seeded);
+    }
+
+    @TearDown
+    public void tearDown() {
+        userRepository.delete(user);
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        List<Task> list = readWrite.execute(status -> entityManager
+                .createQuery("select t from Task t where t.user = :user and t.id > 0 order by t.id", Task.class)
+                .setParameter("user", user)
+                .setMaxResults(tasks)
+                .getResultList());
+        return objectMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] projections() throws Exception {
+        List<TaskView> list = readOnly.execute(status ->
+                taskRepository.findViewsByUserIdAfter(user.getId(), 0L, Limit.of(tasks)));
+        return objectMapper.writeValueAsBytes(list);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.dto.TaskCreationRequest;
+import com.example.taskmanagement.dto.TaskPage;
+import com.example.taskmanagement.dto.TaskView;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.search.TaskSearchIndex;
+import com.example.taskmanagement.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService on in-memory repositories, measuring the service's own work per call without
+ * the database. Methods are called directly, outside a Spring transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int TASKS = 1000;
+    private static final long USER_ID = 42L;
+
+    private TaskService taskService;
+    private TaskCreationRequest creationRequest;
+
+    @Setup
+    public void setUp() {
+        User user = new User("benchmark-user", "");
+        user.setId(USER_ID);
+        InMemoryRepositories repositories = new InMemoryRepositories(user, Fixtures.tasks(TASKS, user));
+        // No user's search index is ever loaded, so index updates after a change are no-ops.
+        TaskSearchIndex searchIndex = new TaskSearchIndex(repositories.taskRepository(), repositories.userRepository(),
+                null, null, 0, false);
+        taskService = new TaskService(repositories.taskRepository(), repositories.userRepository(),
+                repositories.userTaskStateRepository(), null, searchIndex, new SimpleMeterRegistry());
+
+        creationRequest = new TaskCreationRequest();
+        creationRequest.setTitle("New task");
+        creationRequest.setDescription("Created by the benchmark");
+    }
+
+    @Benchmark
+    public TaskPage getTasksFirstPage() {
+        return taskService.getTasks(USER_ID, null, null, null);
+    }
+
+    @Benchmark
+    public TaskPage getCompletedTasksFirstPage() {
+        return taskService.getTasks(USER_ID, true, null, null);
+    }
+
+    @Benchmark
+    public Optional<TaskView> getTaskById() {
+        return taskService.getTaskById(TASKS / 2L, USER_ID);
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(creationRequest, USER_ID);
+    }
+
+    @Benchmark
+    public long getTaskRevision() {
+        return taskService.getTaskRevision(USER_ID);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanagement.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt at one configured cost.
+ *
+ * A stored hash with a lower cost is reported as needing an upgrade, so Spring Security rehashes it
+ * at the user's next successful login and stored hashes follow the configured cost when it is raised.
+ * Hashes with a higher cost are kept: lowering the cost, or a node calibrated to a lower cost than
+ * its peers, never weakens a stored hash.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    /**
+     * Finds the highest cost whose hash takes no longer than {@code target} on this machine.
+     * Each step of cost doubles the hashing time, so costs are tried upwards from {@code minStrength}
+     * while twice the last measured time still fits the target.
+     *
+     * @return A cost between {@code minStrength} and {@code maxStrength}; {@code minStrength} even if
+     *         hashing at it already takes longer than the target.
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        // Warm up the JIT so the first measurement is not inflated
+        new BCryptPasswordEncoder(4).encode(CALIBRATION_PASSWORD);
+
+        int strength = minStrength;
+        long nanos = measure(strength);
+        while (strength < maxStrength && nanos * 2 <= target.toNanos()) {
+            strength++;
+            nanos = measure(strength);
+        }
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
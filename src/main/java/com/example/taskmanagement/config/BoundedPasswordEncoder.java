@@ -0,0 +1,174 @@
+package com.example.taskmanagement.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hashes passwords on a dedicated, bounded pool of threads.
+ *
+ * Hashing is CPU-bound and takes tens of milliseconds per password. Run on request threads, a burst
+ * of logins occupies every thread and core, and all other endpoints slow down with it. Here at most
+ * {@code maxConcurrentHashes} hashes run at once, at most {@code maxQueuedHashes} more wait for a
+ * hashing thread, and anything beyond that is rejected at once with a
+ * {@link PasswordHashingRejectedException} instead of waiting.
+ */
+@ManagedResource(objectName = "com.example.taskmanagement:type=PasswordEncoder")
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int maxConcurrentHashes;
+    private final int maxQueuedHashes;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param delegate            The encoder doing the actual hashing.
+     * @param maxConcurrentHashes How many hashes may run at once.
+     * @param maxQueuedHashes     How many hashes may wait for a hashing thread before new ones are rejected.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrentHashes, int maxQueuedHashes) {
+        this.delegate = delegate;
+        this.maxConcurrentHashes = maxConcurrentHashes;
+        this.maxQueuedHashes = maxQueuedHashes;
+        BlockingQueue<Runnable> queue = maxQueuedHashes > 0
+                ? new ArrayBlockingQueue<>(maxQueuedHashes)
+                : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(maxConcurrentHashes, maxConcurrentHashes, 0L, TimeUnit.MILLISECONDS,
+                queue, new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Runs the hash on the hashing pool and waits for its result.
+     *
+     * @throws PasswordHashingRejectedException If all hashing threads are busy and the queue is full.
+     */
+    private <T> T hash(Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                waitNanos.add(System.nanoTime() - submitted);
+                hashes.increment();
+                return hash.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("auth.password.wait", this, encoder -> encoder.hashes.sum(),
+                        encoder -> encoder.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a thread to hash a password")
+                .register(registry);
+        Gauge.builder("auth.password.queue", executor, pool -> pool.getQueue().size())
+                .description("Requests currently waiting to hash a password")
+                .register(registry);
+        FunctionCounter.builder("auth.password.rejected", rejections, LongAdder::sum)
+                .description("Password hashes rejected because the hashing pool and its queue were full")
+                .register(registry);
+    }
+
+    @ManagedAttribute(description = "Maximum number of passwords hashed at the same time")
+    public int getMaxConcurrentHashes() {
+        return maxConcurrentHashes;
+    }
+
+    @ManagedAttribute(description = "Maximum number of passwords waiting to be hashed")
+    public int getMaxQueuedHashes() {
+        return maxQueuedHashes;
+    }
+
+    @ManagedAttribute(description = "Requests currently waiting to hash a password")
+    public int getQueueLength() {
+        return executor.getQueue().size();
+    }
+
+    @ManagedAttribute(description = "Passwords hashed or verified")
+    public long getHashes() {
+        return hashes.sum();
+    }
+
+    @ManagedAttribute(description = "Total time spent waiting to hash a password, in nanoseconds")
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    @ManagedAttribute(description = "Password hashes rejected because the hashing pool and its queue were full")
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
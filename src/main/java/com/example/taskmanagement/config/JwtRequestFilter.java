@@ -1,7 +1,10 @@
 package com.example.taskmanagement.config;
 
+import com.example.taskmanagement.service.AuthenticatedUser;
 import com.example.taskmanagement.service.UserService;
-import com.example.taskmanagement.util.JwtUtil;
+import com.example.taskmanagement.util.VerifiedTokenCache;
+import com.example.taskmanagement.util.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,15 +17,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserService userDetailsService;
 
-    public JwtRequestFilter(JwtUtil jwtUtil, UserService userDetailsService) {
-        this.jwtUtil = jwtUtil;
+    public JwtRequestFilter(VerifiedTokenCache verifiedTokenCache, UserService userDetailsService) {
+        this.verifiedTokenCache = verifiedTokenCache;
         this.userDetailsService = userDetailsService;
     }
 
@@ -32,27 +36,31 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String token = null;
+        VerifiedToken verifiedToken = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            token = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
+            try {
+                // Signature and expiry are checked here, once; the result is reused until the token expires.
+                verifiedToken = verifiedTokenCache.verify(authorizationHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired token: continue unauthenticated and let Spring Security reject the request.
+            }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (verifiedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            if (jwtUtil.validateToken(token, userDetails)) {
+            // The token carries the user id, so the principal is built without touching the database.
+            // Only tokens issued before the id claim existed fall back to a lookup by username.
+            UserDetails userDetails = verifiedToken.getUserId() != null
+                    ? new AuthenticatedUser(verifiedToken.getUserId(), verifiedToken.getUsername(), "", Collections.emptyList())
+                    : this.userDetailsService.loadUserByUsername(verifiedToken.getUsername());
 
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            usernamePasswordAuthenticationToken
+                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
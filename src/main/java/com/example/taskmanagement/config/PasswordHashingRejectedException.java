@@ -0,0 +1,12 @@
+package com.example.taskmanagement.config;
+
+/**
+ * Thrown by {@link BoundedPasswordEncoder} when every hashing thread is busy and the queue is full.
+ * The request should be answered with 503 so the client retries later.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException() {
+        super("Too many passwords are being hashed, try again later");
+    }
+}
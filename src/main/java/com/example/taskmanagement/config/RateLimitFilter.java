@@ -0,0 +1,174 @@
+package com.example.taskmanagement.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how often each client may call each class of endpoint, answering 429 with Retry-After
+ * beyond that (see {@link TokenBucketRateLimiter}).
+ *
+ * Login, registration and refresh are limited per client IP, since their callers are not
+ * authenticated yet. Behind a proxy that is the address in X-Forwarded-For, which Tomcat substitutes
+ * for the proxy's (server.forward-headers-strategy=native) when the proxy is a trusted one. The /task endpoints are limited per authenticated user, so it runs after
+ * {@link JwtRequestFilter}; requests without a valid token pass through and are rejected by Spring
+ * Security. Other endpoints are not limited.
+ */
+@Component
+@ManagedResource(objectName = "com.example.taskmanagement:type=RateLimitFilter")
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    /**
+     * Endpoints sharing one limit.
+     */
+    public enum EndpointClass {
+        /** Login, registration and refresh, per client IP. */
+        AUTH,
+        /** Reading tasks, per user. */
+        READ,
+        /** Creating, updating and deleting single tasks, per user. */
+        WRITE,
+        /** Export, batch changes and completing all tasks, per user. */
+        BULK
+    }
+
+    private static final Set<String> AUTH_PATHS = Set.of("/user/login", "/user/register", "/user/refresh");
+    private static final Set<String> BULK_PATHS = Set.of("/task/export", "/task/batch", "/task/complete");
+
+    private final boolean enabled;
+    private final Map<EndpointClass, TokenBucketRateLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    /**
+     * Each endpoint class allows {@code limit} requests per {@code period} per client, all of them
+     * at once if the client has been idle; at most {@code maxKeys} clients are tracked per class.
+     */
+    public RateLimitFilter(@Value("${ratelimit.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.auth.limit:10}") int authLimit,
+                           @Value("${ratelimit.auth.period:1m}") Duration authPeriod,
+                           @Value("${ratelimit.read.limit:100}") int readLimit,
+                           @Value("${ratelimit.read.period:10s}") Duration readPeriod,
+                           @Value("${ratelimit.write.limit:50}") int writeLimit,
+                           @Value("${ratelimit.write.period:10s}") Duration writePeriod,
+                           @Value("${ratelimit.bulk.limit:5}") int bulkLimit,
+                           @Value("${ratelimit.bulk.period:1m}") Duration bulkPeriod,
+                           @Value("${ratelimit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        limiters.put(EndpointClass.AUTH, new TokenBucketRateLimiter(authLimit, authPeriod, maxKeys));
+        limiters.put(EndpointClass.READ, new TokenBucketRateLimiter(readLimit, readPeriod, maxKeys));
+        limiters.put(EndpointClass.WRITE, new TokenBucketRateLimiter(writeLimit, writePeriod, maxKeys));
+        limiters.put(EndpointClass.BULK, new TokenBucketRateLimiter(bulkLimit, bulkPeriod, maxKeys));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        EndpointClass endpointClass = classify(request.getMethod(), path);
+        String key = endpointClass == null ? null
+                : endpointClass == EndpointClass.AUTH ? request.getRemoteAddr() : authenticatedUsername();
+
+        long waitNanos = key == null ? 0 : limiters.get(endpointClass).tryAcquire(key);
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ceilSeconds(waitNanos))));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests, try again later");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    static EndpointClass classify(String method, String path) {
+        if (AUTH_PATHS.contains(path)) {
+            return EndpointClass.AUTH;
+        }
+        if (!path.equals("/task") && !path.startsWith("/task/")) {
+            return null;
+        }
+        if (BULK_PATHS.contains(path)) {
+            return EndpointClass.BULK;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+    private static String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Drops the buckets of clients that have been idle long enough for them to refill.
+     */
+    @Scheduled(initialDelayString = "${ratelimit.eviction-interval:PT1M}",
+            fixedDelayString = "${ratelimit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        limiters.values().forEach(TokenBucketRateLimiter::evictIdle);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limiters.forEach((endpointClass, limiter) -> {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("http.ratelimit.rejected", limiter, TokenBucketRateLimiter::getRejections)
+                    .description("Requests answered 429 because the client was over its rate limit")
+                    .tag("endpoint", tag)
+                    .register(registry);
+            FunctionCounter.builder("http.ratelimit.untracked", limiter, TokenBucketRateLimiter::getUntracked)
+                    .description("Requests let through unlimited because the limiter was tracking its maximum number of clients")
+                    .tag("endpoint", tag)
+                    .register(registry);
+            Gauge.builder("http.ratelimit.clients", limiter, TokenBucketRateLimiter::size)
+                    .description("Clients currently tracked by the rate limiter")
+                    .tag("endpoint", tag)
+                    .register(registry);
+        });
+    }
+
+    @ManagedAttribute(description = "Requests answered 429 because the client was over its rate limit")
+    public long getRejections() {
+        return limiters.values().stream().mapToLong(TokenBucketRateLimiter::getRejections).sum();
+    }
+
+    @ManagedAttribute(description = "Requests let through unlimited because the limiter was tracking its maximum number of clients")
+    public long getUntracked() {
+        return limiters.values().stream().mapToLong(TokenBucketRateLimiter::getUntracked).sum();
+    }
+
+    @ManagedAttribute(description = "Clients currently tracked by the rate limiter")
+    public int getTrackedClients() {
+        return limiters.values().stream().mapToInt(TokenBucketRateLimiter::size).sum();
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.taskmanagement.config;
 
 import com.example.taskmanagement.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,21 +12,26 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     private final UserService userService;
     private final JwtRequestFilter jwtRequestFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(UserService userService, JwtRequestFilter jwtRequestFilter) {
+    public SecurityConfig(UserService userService, JwtRequestFilter jwtRequestFilter, RateLimitFilter rateLimitFilter) {
         this.userService = userService;
         this.jwtRequestFilter = jwtRequestFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -31,20 +39,50 @@ public class SecurityConfig {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/user/register", "/user/login", "/test").permitAll()
+                .requestMatchers("/user/register", "/user/login", "/user/refresh", "/test").permitAll()
+                // Other actuator endpoints, metrics included, need a token like any other request
+                .requestMatchers("/actuator/health").permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+            // After the token is verified, so task requests are limited per user
+            .addFilterAfter(rateLimitFilter, JwtRequestFilter.class);
 
         return http.build();
     }
 
+    /**
+     * BCrypt at {@code security.password.bcrypt-strength}, or when that is 0 at the cost calibrated at
+     * startup to hash in about {@code security.password.target-hash-time}. Nodes calibrate independently
+     * and may pick different costs, so deployments with several nodes should pin the cost. Hashes run
+     * on a pool of {@code security.password.max-concurrent-hashes} threads (by default one per CPU)
+     * with room for {@code security.password.max-queued-hashes} waiting hashes.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.password.max-concurrent-hashes:0}") int maxConcurrentHashes,
+                                                  @Value("${security.password.max-queued-hashes:100}") int maxQueuedHashes,
+                                                  @Value("${security.password.bcrypt-strength:0}") int strength,
+                                                  @Value("${security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                                  @Value("${security.password.min-strength:10}") int minStrength,
+                                                  @Value("${security.password.max-strength:14}") int maxStrength) {
+        int threads = maxConcurrentHashes > 0 ? maxConcurrentHashes : Runtime.getRuntime().availableProcessors();
+        int cost;
+        if (strength > 0) {
+            cost = strength;
+            log.info("Hashing passwords with BCrypt cost {} on {} threads", cost, threads);
+        } else {
+            cost = AdaptiveBCryptPasswordEncoder.calibrate(targetHashTime, minStrength, maxStrength);
+            log.info("Hashing passwords with calibrated BCrypt cost {} on {} threads; "
+                    + "set security.password.bcrypt-strength={} to use it on every node", cost, threads, cost);
+        }
+        return new BoundedPasswordEncoder(new AdaptiveBCryptPasswordEncoder(cost), threads, maxQueuedHashes);
     }
 
+    /**
+     * Authenticates against the users table. After a successful login, a password whose stored hash
+     * has a lower BCrypt cost than the configured one is rehashed and saved.
+     */
     @Bean
     public DaoAuthenticationProvider daoAuthenticationProvider(
             PasswordEncoder passwordEncoder
@@ -52,6 +90,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider =
                 new DaoAuthenticationProvider(userService);
         provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userService);
         return provider;
     }
 
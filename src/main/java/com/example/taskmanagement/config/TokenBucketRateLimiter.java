@@ -0,0 +1,149 @@
+package com.example.taskmanagement.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per key (a user or client IP): each key may make {@code limit} requests per
+ * {@code period}, all of them at once if its bucket is full.
+ *
+ * A bucket is a single {@code AtomicLong}: the time at which it will be full again. A request
+ * moves that time forward by one token's worth, {@code period / limit}, unless it is already more
+ * than {@code period} minus one token ahead of now, so taking a token is one compare-and-set and
+ * no lock. A full bucket holds no state, so buckets that have refilled are simply dropped.
+ *
+ * Keys are spread over independent maps (stripes) by hash, so a stripe can be swept for idle
+ * buckets without touching the others. Each stripe holds at most its share of {@code maxKeys};
+ * when a stripe is full of buckets still refilling, new keys are let through without a bucket and
+ * counted as untracked rather than growing the map.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long tokenNanos;
+    private final long burstNanos;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+    private final Map<String, AtomicLong>[] stripes;
+
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    public TokenBucketRateLimiter(int limit, Duration period, int maxKeys) {
+        this(limit, period, maxKeys, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param limit   Requests per period, and the bucket's capacity.
+     * @param period  How long an empty bucket takes to fill again.
+     * @param maxKeys How many keys may have a bucket at the same time.
+     * @param stripes Number of independent maps the keys are spread over; rounded up to a power of two.
+     */
+    public TokenBucketRateLimiter(int limit, Duration period, int maxKeys, int stripes) {
+        this(limit, period, maxKeys, stripes, System::nanoTime);
+    }
+
+    /**
+     * @param clock Current time in nanoseconds, like {@link System#nanoTime()}.
+     */
+    @SuppressWarnings("unchecked")
+    TokenBucketRateLimiter(int limit, Duration period, int maxKeys, int stripes, LongSupplier clock) {
+        this.tokenNanos = period.toNanos() / limit;
+        this.burstNanos = period.toNanos() - tokenNanos;
+        int stripeCount = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripeCount);
+        this.clock = clock;
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Takes a token from the key's bucket if it has one.
+     *
+     * @return 0 if the request may go ahead, otherwise how many nanoseconds until a token is available.
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Map<String, AtomicLong> stripe = stripeOf(key);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxKeysPerStripe) {
+                evictIdle(stripe, now);
+                if (stripe.size() >= maxKeysPerStripe) {
+                    untracked.increment();
+                    return 0;
+                }
+            }
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long from = fullAt - now > 0 ? fullAt : now;
+            long wait = from - now - burstNanos;
+            if (wait > 0) {
+                rejections.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, from + tokenNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again.
+     * A request racing with the removal may take its token from the dropped bucket, and so get one
+     * token more than the limit; no request is ever refused because of it.
+     *
+     * @return The number of buckets dropped.
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            evicted += evictIdle(stripe, now);
+        }
+        return evicted;
+    }
+
+    private static int evictIdle(Map<String, AtomicLong> stripe, long now) {
+        int sizeBefore = stripe.size();
+        stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return sizeBefore - stripe.size();
+    }
+
+    private Map<String, AtomicLong> stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * @return The number of keys currently holding a bucket.
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return Requests refused because their bucket was empty.
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return Requests let through without a bucket because their stripe was full.
+     */
+    public long getUntracked() {
+        return untracked.sum();
+    }
+}
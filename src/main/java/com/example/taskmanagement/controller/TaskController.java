@@ -1,15 +1,36 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.BulkOperationResult;
+import com.example.taskmanagement.dto.TaskBatchRequest;
+import com.example.taskmanagement.dto.TaskBatchResult;
 import com.example.taskmanagement.dto.TaskCreationRequest;
+import com.example.taskmanagement.dto.TaskPage;
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.dto.TaskStats;
+import com.example.taskmanagement.dto.TaskView;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.search.TaskQuery;
+import com.example.taskmanagement.service.AuthenticatedUser;
+import com.example.taskmanagement.service.TaskExportService;
 import com.example.taskmanagement.service.TaskService;
+import com.example.taskmanagement.util.CursorCodec;
+import com.example.taskmanagement.util.ETags;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
 /**
  * REST controller for managing tasks.
  * This class defines the API endpoints for CRUD operations on tasks.
@@ -18,40 +39,144 @@ import jakarta.validation.Valid;
 @RequestMapping("/task") // Base path for all endpoints in this controller
 public class TaskController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    static final String GZIP_CONTENT_TYPE = "application/gzip";
+    static final int MAX_BULK_IDS = 1000;
+
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
 
     /**
      * Constructor for TaskController.
-     * Spring will inject the TaskService dependency here.
+     * Spring will inject the service dependencies here.
      *
-     * @param taskService The service for handling task business logic.
+     * @param taskService       The service for handling task business logic.
+     * @param taskExportService The service for streaming a user's tasks.
      */
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
     }
 
     /**
-     * Handles GET requests to /api/tasks.
-     * - If no parameters are provided, retrieves a list of all tasks.
+     * Handles GET requests to /task.
+     * - If no parameters are provided, retrieves the first page of the user's tasks.
      * - If an 'id' parameter is provided, retrieves a single task by its ID.
-     * - Any other parameters (e.g., title, description, status) will result in a 400 Bad Request.
+     * - If a 'completed' parameter is provided, retrieves a page of tasks with that status.
+     * Lists are paginated by id: when more tasks follow, the opaque token to pass as 'cursor'
+     * for the next page is returned in the X-Next-Cursor header.
+     * Lists carry an ETag that changes whenever any of the user's tasks changes, so polling
+     * with If-None-Match is answered with 304 until something changes.
      * @param id          Optional ID of the task to retrieve.
      * @param completed   Optional completion status to filter tasks.
-     * @return A list of all tasks, a single task, or a 400/404 error.
+     * @param cursor      Optional continuation token from a previous page.
+     * @param limit       Optional page size, capped by the server.
+     * @return A page of tasks, a single task, or a 400/404 error.
      */
     @GetMapping
     public ResponseEntity<?> getTasks(@RequestParam(required = false) Long id,
                                       @RequestParam(required = false) Boolean completed,
-                                      @AuthenticationPrincipal UserDetails userDetails) {
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit,
+                                      @AuthenticationPrincipal AuthenticatedUser user,
+                                      WebRequest webRequest) {
         if (id != null) {
-            return taskService.getTaskById(id, userDetails.getUsername())
-                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+            // With the ETag set, Spring answers a matching If-None-Match with 304 and no body.
+            return taskService.getTaskById(id, user.getId())
+                    .<ResponseEntity<?>>map(task -> withETag(ResponseEntity.ok(), task).body(task))
                     .orElse(ResponseEntity.notFound().build());
-        } else if (completed != null) {
-            return ResponseEntity.ok(taskService.getTasksByCompletionStatus(completed, userDetails.getUsername()));
-        } else {
-            return ResponseEntity.ok(taskService.getAllTasks(userDetails.getUsername()));
         }
+
+        Long afterId;
+        try {
+            afterId = cursor != null ? CursorCodec.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+
+        // The revision is read before the list, so the ETag can never be newer than the content.
+        // If the client already has this revision, answer 304 without reading any tasks.
+        String eTag = ETags.ofRevision(user.getId(), taskService.getTaskRevision(user.getId()));
+        if (webRequest.checkNotModified(eTag)) {
+            return privateList(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag).build();
+        }
+
+        TaskPage page = taskService.getTasks(user.getId(), completed, afterId, limit);
+        ResponseEntity.BodyBuilder response = privateList(ResponseEntity.ok(), eTag);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, CursorCodec.encode(page.getNextAfterId()));
+        }
+        return response.body(page.getTasks());
+    }
+
+    /**
+     * A list depends on who asks for it, so shared caches must not store it and any cache must key it
+     * by the Authorization header; clients still revalidate it with the ETag before reusing it.
+     */
+    private static ResponseEntity.BodyBuilder privateList(ResponseEntity.BodyBuilder builder, String eTag) {
+        return builder.eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.AUTHORIZATION);
+    }
+
+    /**
+     * Handles GET requests to /task/stats.
+     * Returns how many tasks the user has, and how many of them are open and completed,
+     * without loading any tasks.
+     *
+     * @return The user's task counts.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(taskService.getTaskStats(user.getId()));
+    }
+
+    /**
+     * Handles GET requests to /task/search.
+     * Finds the user's tasks whose title or description contains every word of the query;
+     * a word ending in '*' matches as a prefix. Results are ranked by relevance, with words
+     * in the title counting more than words in the description.
+     *
+     * @param q         The search query.
+     * @param completed Optional completion status to filter by.
+     * @param limit     Optional maximum number of results, capped by the server.
+     * @return The matching tasks, best match first, or a 400 error if the query has no words.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(@RequestParam String q,
+                                         @RequestParam(required = false) Boolean completed,
+                                         @RequestParam(required = false) Integer limit,
+                                         @AuthenticationPrincipal AuthenticatedUser user) {
+        TaskQuery query = TaskQuery.parse(q);
+        if (query.isEmpty()) {
+            return ResponseEntity.badRequest().body("Query must contain at least one word");
+        }
+        List<TaskSearchHit> hits = taskService.searchTasks(user.getId(), query, completed, limit);
+        return ResponseEntity.ok(hits);
+    }
+
+    /**
+     * Handles GET requests to /task/export.
+     * Streams all of the user's tasks as newline-delimited JSON, one task per line,
+     * without buffering the list in memory.
+     *
+     * @param gzip     Whether to send the tasks as a gzip-compressed file, tasks.ndjson.gz.
+     * @param response The response the tasks are written to.
+     */
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(defaultValue = "false") boolean gzip,
+                            @AuthenticationPrincipal AuthenticatedUser user,
+                            HttpServletResponse response) throws IOException {
+        // A gzipped export is a .gz file rather than a gzip-encoded NDJSON body, so clients that decode
+        // Content-Encoding transparently do not save decompressed data under a .gz name.
+        response.setContentType(gzip ? GZIP_CONTENT_TYPE : NDJSON_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson" + (gzip ? ".gz" : "") + "\"");
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            out = new GZIPOutputStream(out, 8192);
+        }
+        taskExportService.exportTasks(user.getId(), out);
     }
 
     /**
@@ -63,50 +188,140 @@ public class TaskController {
      */
     @PostMapping
     public ResponseEntity<Task> createTask(@Valid @RequestBody TaskCreationRequest taskRequest,
-                                           @AuthenticationPrincipal UserDetails userDetails) {
-        Task createdTask = taskService.createTask(taskRequest, userDetails.getUsername());
-        return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        Task createdTask = taskService.createTask(taskRequest, user.getId());
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), createdTask).body(createdTask);
+    }
+
+    /**
+     * Handles POST requests to /task/batch.
+     * Applies an ordered list of create, update and delete operations in a single transaction.
+     *
+     * @param batchRequest The operations to apply, in order.
+     * @return One result per operation, each carrying the status the single-task call would have returned.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> executeBatch(@Valid @RequestBody TaskBatchRequest batchRequest,
+                                                              @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(taskService.executeBatch(batchRequest.getOperations(), user.getId()));
     }
 
     /**
      * Handles PUT requests to /api/tasks/{id}.
      * Updates an existing task.
+     * If an If-Match header is given, the task is only updated while its ETag still matches.
      *
-     * @param id          The ID of the task to update.
      * @param taskDetails The new details for the task from the request body.
-     * @return A ResponseEntity containing the updated task, or a 404 Not Found status if not.
+     * @param ifMatch     Optional ETag the task must still have.
+     * @return A ResponseEntity containing the updated task, a 404 Not Found status if not found,
+     *         or a 412 Precondition Failed status if the task has changed or, with an If-Match header, is not found.
      */
     @PutMapping
     public ResponseEntity<Task> updateTask(@RequestBody Task taskDetails,
-                                           @AuthenticationPrincipal UserDetails userDetails) {
-        return taskService.updateTask(taskDetails, userDetails.getUsername())
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch != null ? ETags.parseIfMatch(ifMatch) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        try {
+            return taskService.updateTask(taskDetails, user.getId(), expectedVersion)
+                    .map(task -> withETag(ResponseEntity.ok(), task).body(task))
+                    .orElseGet(() -> missing(ifMatch));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+    }
+
+    /**
+     * Handles POST requests to /task/complete.
+     * Marks tasks as completed with a single set-based update.
+     * - If an 'ids' parameter is provided, completes the listed tasks.
+     * - If no parameters are provided, completes all of the user's open tasks.
+     *
+     * @param ids Optional comma-separated IDs of the tasks to complete.
+     * @return The number of tasks that changed from open to completed.
+     */
+    @PostMapping("/complete")
+    public ResponseEntity<?> completeTasks(@RequestParam(required = false) List<Long> ids,
+                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        if (ids != null && ids.size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BULK_IDS + " ids may be given");
+        }
+        return ResponseEntity.ok(new BulkOperationResult(taskService.completeTasks(ids, user.getId())));
     }
 
     /**
-     * Handles DELETE requests to /api/tasks.
+     * Handles DELETE requests to /task.
      * - If an 'id' parameter is provided, deletes a single task by its ID.
+     * - If an 'ids' parameter is provided, deletes the listed tasks and returns how many were deleted.
+     * - If a 'completed' parameter is provided, deletes all tasks with that status and returns how many were deleted.
      * - If no parameters are provided, deletes all tasks.
-     * - Providing title, description, or status parameters will result in a 400 Bad Request.
+     * Every variant is a single DELETE statement scoped to the user.
+     *
+     * A single-task delete honours an If-Match header like PUT does, including 412 for a missing task.
      *
      * @param id          Optional ID of the task to delete.
-     * @return A ResponseEntity with a 204 No Content status on success, or an error status.
+     * @param ids         Optional comma-separated IDs of the tasks to delete.
+     * @param completed   Optional completion status of the tasks to delete.
+     * @param ifMatch     Optional ETag the single task must still have.
+     * @return A 204 No Content status, the number of deleted tasks, or an error status.
      */
     @DeleteMapping
-    public ResponseEntity<Void> deleteTasks(@RequestParam(required = false) Long id,
-                                            @AuthenticationPrincipal UserDetails userDetails) {
-        // Case 1: An 'id' parameter is provided. Delete the specific task.
+    public ResponseEntity<?> deleteTasks(@RequestParam(required = false) Long id,
+                                         @RequestParam(required = false) List<Long> ids,
+                                         @RequestParam(required = false) Boolean completed,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         @AuthenticationPrincipal AuthenticatedUser user) {
+        // Case 1: An 'id' parameter is provided. Delete the specific task;
+        // whether a row was deleted decides between 204 and 404.
         if (id != null) {
-            if (!taskService.getTaskById(id, userDetails.getUsername()).isPresent()) {
-                return ResponseEntity.notFound().build();
+            Long expectedVersion;
+            try {
+                expectedVersion = ifMatch != null ? ETags.parseIfMatch(ifMatch) : null;
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            try {
+                return taskService.deleteTask(id, user.getId(), expectedVersion)
+                        ? ResponseEntity.noContent().build()
+                        : missing(ifMatch);
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
             }
-            taskService.deleteTask(id, userDetails.getUsername());
-            return ResponseEntity.noContent().build();
+        } else if (ids != null) {
+            if (ids.size() > MAX_BULK_IDS) {
+                return ResponseEntity.badRequest().body("At most " + MAX_BULK_IDS + " ids may be given");
+            }
+            return ResponseEntity.ok(new BulkOperationResult(taskService.deleteTasks(ids, user.getId())));
+        } else if (completed != null) {
+            return ResponseEntity.ok(new BulkOperationResult(taskService.deleteTasksByCompletionStatus(completed, user.getId())));
         } else {
-            // If no ID is provided, delete all tasks.
-            taskService.deleteAllTasks(userDetails.getUsername());
+            // If no parameters are provided, delete all tasks.
+            taskService.deleteAllTasks(user.getId());
         }
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * The response for a task that does not exist: 404, but 412 when the request had an If-Match header,
+     * which (even "*") is false when there is no current representation (RFC 9110, section 13.1.1).
+     */
+    private static <T> ResponseEntity<T> missing(String ifMatch) {
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Task task) {
+        return withETag(builder, task.getVersion());
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, TaskView task) {
+        return withETag(builder, task.getVersion());
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Long version) {
+        return version != null ? builder.eTag(ETags.of(version)) : builder;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.config.PasswordHashingRejectedException;
 import com.example.taskmanagement.dto.AuthenticationRequest;
 import com.example.taskmanagement.dto.AuthenticationResponse;
-import com.example.taskmanagement.model.User;
-import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.dto.RefreshTokenRequest;
+import com.example.taskmanagement.service.AuthenticatedUser;
+import com.example.taskmanagement.service.RefreshTokenService;
 import com.example.taskmanagement.service.UserService;
 import com.example.taskmanagement.util.JwtUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,41 +29,75 @@ public class UserController {
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
-    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
 
-    public UserController(AuthenticationManager authenticationManager, UserService userService, JwtUtil jwtUtil, PasswordEncoder passwordEncoder, UserRepository userRepository) {
+    public UserController(AuthenticationManager authenticationManager, UserService userService, JwtUtil jwtUtil, PasswordEncoder passwordEncoder,
+                          RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
-        this.userRepository = userRepository;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody AuthenticationRequest registrationRequest) {
-        if (userRepository.findByUsername(registrationRequest.getUsername()).isPresent()) {
+        String encodedPassword;
+        try {
+            encodedPassword = passwordEncoder.encode(registrationRequest.getPassword());
+        } catch (PasswordHashingRejectedException e) {
+            return tooBusy(e);
+        }
+        // A single insert that does nothing when the username exists, so concurrent sign-ups
+        // for the same name cannot both succeed.
+        if (!userService.register(registrationRequest.getUsername(), encodedPassword)) {
             return ResponseEntity.badRequest().body("Username is already taken");
         }
-        User user = new User();
-        user.setUsername(registrationRequest.getUsername());
-        user.setPassword(passwordEncoder.encode(registrationRequest.getPassword()));
-        userRepository.save(user);
         return ResponseEntity.ok("User registered successfully");
     }
 
    @PostMapping("/login")
     public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthenticationRequest authenticationRequest) {
         try {
-            authenticationManager.authenticate(
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authenticationRequest.getUsername(), authenticationRequest.getPassword())
             );
 
-            final UserDetails userDetails = userService.loadUserByUsername(authenticationRequest.getUsername());
+            // The authenticated principal already carries the user's id; no second lookup is needed.
+            final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             final String token = jwtUtil.generateToken(userDetails);
+            final String refreshToken = refreshTokenService.issue(((AuthenticatedUser) userDetails).getId());
 
-            return ResponseEntity.ok(new AuthenticationResponse(token));
+            return ResponseEntity.ok(new AuthenticationResponse(token, refreshToken));
+        } catch (PasswordHashingRejectedException e) {
+            return tooBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(401).body("Invalid username or password: " + e.getMessage());
         }
     }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, without checking the
+     * password again. Each refresh token works once; reusing one revokes the tokens issued after it.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshAuthenticationToken(@RequestBody RefreshTokenRequest refreshRequest) {
+        String refreshToken = refreshRequest.getRefreshToken();
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return ResponseEntity.badRequest().body("Refresh token is required");
+        }
+        return refreshTokenService.rotate(refreshToken)
+                .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(new AuthenticationResponse(
+                        jwtUtil.generateToken(rotation.user()), rotation.refreshToken())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired refresh token"));
+    }
+
+    /**
+     * Password hashing is saturated; the client should retry shortly rather than wait on this request.
+     */
+    private ResponseEntity<?> tooBusy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
\ No newline at end of file
@@ -2,11 +2,17 @@ package com.example.taskmanagement.dto;
 
 public class AuthenticationResponse {
     private String token;
+    private String refreshToken;
 
     public AuthenticationResponse(String token) {
         this.token = token;
     }
 
+    public AuthenticationResponse(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() {
         return token;
     }
@@ -14,4 +20,12 @@ public class AuthenticationResponse {
     public void setToken(String token) {
         this.token = token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
 }
\ No newline at end of file
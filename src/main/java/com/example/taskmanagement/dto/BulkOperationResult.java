@@ -0,0 +1,13 @@
+package com.example.taskmanagement.dto;
+
+public class BulkOperationResult {
+    private final int affected;
+
+    public BulkOperationResult(int affected) {
+        this.affected = affected;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * A single create, update or delete within a batch request.
+ * Updates only change the fields that are present, like PUT /task.
+ */
+public class TaskBatchOperation {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    @NotNull(message = "Operation type is mandatory")
+    private Type op;
+    private Long id;
+    @Size(min = 3, max = 100, message = "Title must be between 3 and 100 characters")
+    private String title;
+    private String description;
+    private Boolean completed;
+
+    @JsonIgnore
+    @AssertTrue(message = "Create requires a title; update and delete require an id")
+    public boolean isWellFormed() {
+        if (op == null) {
+            return true;
+        }
+        return op == Type.CREATE ? title != null && !title.isBlank() : id != null;
+    }
+
+    // Getters and Setters
+    public Type getOp() {
+        return op;
+    }
+
+    public void setOp(Type op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+}
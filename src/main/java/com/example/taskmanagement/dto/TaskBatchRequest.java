@@ -0,0 +1,23 @@
+package com.example.taskmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TaskBatchRequest {
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 500, message = "A batch may contain at most 500 operations")
+    private List<@NotNull(message = "Operations may not be null") @Valid TaskBatchOperation> operations;
+
+    // Getters and Setters
+    public List<TaskBatchOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<TaskBatchOperation> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of one batch operation, reported with the HTTP status the equivalent
+ * single-task call would have returned (201, 200, 204 or 404).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResult {
+    private final int index;
+    private final TaskBatchOperation.Type op;
+    private final int status;
+    private final Task task;
+
+    public TaskBatchResult(int index, TaskBatchOperation.Type op, int status, Task task) {
+        this.index = index;
+        this.op = op;
+        this.status = status;
+        this.task = task;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public TaskBatchOperation.Type getOp() {
+        return op;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
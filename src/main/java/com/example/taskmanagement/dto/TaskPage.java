@@ -0,0 +1,31 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's tasks, in id order.
+ */
+public class TaskPage {
+    private final List<TaskView> tasks;
+    private final Long nextAfterId;
+
+    public TaskPage(List<TaskView> tasks, Long nextAfterId) {
+        this.tasks = tasks;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<TaskView> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @return the id to continue after for the next page, or null if this is the last page.
+     */
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+}
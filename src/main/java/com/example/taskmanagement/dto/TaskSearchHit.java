@@ -0,0 +1,35 @@
+package com.example.taskmanagement.dto;
+
+/**
+ * A task matching a search, with its relevance score (higher is better).
+ * Only fields kept in the search index are included; the full task can be fetched by id.
+ */
+public class TaskSearchHit {
+    private final Long id;
+    private final String title;
+    private final Boolean completed;
+    private final double score;
+
+    public TaskSearchHit(Long id, String title, Boolean completed, double score) {
+        this.id = id;
+        this.title = title;
+        this.completed = completed;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
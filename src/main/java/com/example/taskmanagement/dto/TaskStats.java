@@ -0,0 +1,23 @@
+package com.example.taskmanagement.dto;
+
+public class TaskStats {
+    private final long total;
+    private final long completed;
+
+    public TaskStats(long total, long completed) {
+        this.total = total;
+        this.completed = completed;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getOpen() {
+        return total - completed;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+}
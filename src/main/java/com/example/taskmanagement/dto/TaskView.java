@@ -0,0 +1,48 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+/**
+ * A read-only copy of a task, as returned by the GET endpoints.
+ * Selected directly by the list queries, so no Task entities are created or tracked for them.
+ * Serialized with the same fields as a Task.
+ */
+public class TaskView {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Boolean completed;
+    private final Long version;
+
+    public TaskView(Long id, String title, String description, Boolean completed, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.version = version;
+    }
+
+    public static TaskView of(Task task) {
+        return new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getCompleted(), task.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
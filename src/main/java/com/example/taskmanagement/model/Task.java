@@ -5,27 +5,35 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a Task entity in the database.
  * Each instance of this class corresponds to a row in the "tasks" table.
+ * Tasks are kept in the "tasks" second-level cache region, so repeated reads by id skip the database.
  */
 @Entity
-@Table(name = "tasks")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
+@Table(name = "tasks") // Indexes are created by the schema migrations in db/migration
 public class Task {
 
     /**
      * The unique identifier for the task.
      * This is the primary key.
-     * The value is automatically generated by the database.
+     * Values come from the tasks_seq sequence, fetched 50 at a time, so Hibernate knows
+     * new ids before inserting and can send inserts to the database in JDBC batches.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -49,6 +57,14 @@ public class Task {
     @Column(nullable = false)
     private Boolean completed;
 
+    /**
+     * Incremented on every change.
+     * Used for optimistic locking and as the task's ETag.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     // --- Getters and Setters ---
     // These are methods that allow us to access and modify the private fields.
 
@@ -89,6 +105,14 @@ public class Task {
         this.completed = completed;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getUser() {
         return user;
     }
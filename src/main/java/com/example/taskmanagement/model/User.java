@@ -8,8 +8,11 @@ import jakarta.persistence.Table;
 import jakarta.persistence.OneToMany;
 import java.util.List;
 import jakarta.persistence.CascadeType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "app_users") // Using "app_user" as "user" can be a reserved keyword in some databases
 public class User {
 
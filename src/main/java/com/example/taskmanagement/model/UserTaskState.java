@@ -0,0 +1,78 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-user bookkeeping about the user's task collection.
+ * Each instance of this class corresponds to a row in the "user_task_state" table.
+ */
+@Entity
+@Table(name = "user_task_state")
+public class UserTaskState {
+
+    /**
+     * The id of the user this state belongs to.
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Incremented by every change to the user's tasks.
+     * Used as the ETag of the user's task lists, so unchanged lists can be answered with 304.
+     */
+    @Column(nullable = false)
+    private Long revision;
+
+    /**
+     * The number of tasks the user has, kept up to date by every change.
+     * Null until first requested, because tasks may predate this row.
+     */
+    @Column(name = "task_count")
+    private Long taskCount;
+
+    /**
+     * The number of the user's tasks that are completed, maintained like taskCount.
+     */
+    @Column(name = "completed_count")
+    private Long completedCount;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public Long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(Long taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public Long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(Long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public boolean hasTaskCounts() {
+        return taskCount != null && completedCount != null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Marks the token as used if it is unused and unexpired, in one statement on the token hash index.
+     * Of two concurrent exchanges of the same token only one gets a result.
+     *
+     * @return the token's user and family, or empty if the token is unknown, expired or already used.
+     */
+    @Query(nativeQuery = true, value = """
+            with used as (
+                update refresh_tokens set used_at = :now
+                 where token_hash = :tokenHash and used_at is null and expires_at > :now
+                returning user_id, family_id)
+            select used.user_id as userId, u.username as username, used.family_id as familyId
+              from used join app_users u on u.id = used.user_id
+            """)
+    Optional<UsedRefreshToken> markUsed(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+    /**
+     * @return the family of a token that has already been exchanged, or empty if there is none.
+     */
+    @Query("select t.familyId from RefreshToken t where t.tokenHash = :tokenHash and t.usedAt is not null")
+    Optional<UUID> findFamilyIdOfUsedToken(@Param("tokenHash") byte[] tokenHash);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    /**
+     * The user a refresh token was issued to, and the family it belongs to.
+     */
+    interface UsedRefreshToken {
+        Long getUserId();
+
+        String getUsername();
+
+        UUID getFamilyId();
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.dto.TaskView;
 import com.example.taskmanagement.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.taskmanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import java.util.Optional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * The TaskRepository interface is a Spring Data JPA repository for Task entities.
@@ -14,6 +24,10 @@ import java.util.List;
  * operations for the Task entity for free.
  *
  * Spring will automatically provide the implementation for this interface at runtime.
+ *
+ * Open-in-view is disabled, so tasks are serialized after their transaction has ended. Queries
+ * returning Task entities load all of the task's columns; its only association, the user, is lazy
+ * and never serialized, so nothing is left for serialization to load.
  */
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -31,13 +45,142 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // List<Task> findByCompleted(boolean completed);
     // Spring Data JPA would automatically implement this method for us based on its name.
 
-    List<Task> findByCompleted(Boolean completed);
+    // Read-only projections for the list endpoints: the columns are selected straight into
+    // TaskView objects, so no entities are hydrated, cached or snapshotted for dirty checking.
+
+    /**
+     * Keyset pagination over a user's tasks as TaskViews. Served by the (user_id, id) index.
+     */
+    @Query("select new com.example.taskmanagement.dto.TaskView(t.id, t.title, t.description, t.completed, t.version) "
+            + "from Task t where t.user.id = :userId and t.id > :afterId order by t.id")
+    List<TaskView> findViewsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Keyset pagination over a user's tasks with the given completion status as TaskViews.
+     * Served by the (user_id, completed, id) index.
+     */
+    @Query("select new com.example.taskmanagement.dto.TaskView(t.id, t.title, t.description, t.completed, t.version) "
+            + "from Task t where t.user.id = :userId and t.completed = :completed and t.id > :afterId order by t.id")
+    List<TaskView> findViewsByUserIdAndCompletedAfter(@Param("userId") Long userId, @Param("completed") Boolean completed,
+                                                      @Param("afterId") Long afterId, Limit limit);
+
+    List<Task> findByUserAndIdIn(User user, Collection<Long> ids);
+
+    boolean existsByIdAndUser(Long id, User user);
+
+    /**
+     * Deletes a single task if it belongs to the user and, if expectedVersion is given, is still
+     * at that version, in one statement. Native statements bypass the second-level cache, so
+     * callers must evict the task afterwards.
+     *
+     * @return whether the deleted task was completed, or empty if it does not exist,
+     *         belongs to another user or has changed.
+     */
+    @Query(nativeQuery = true, value = """
+            delete from tasks
+             where id = :id and user_id = :userId
+               and (cast(:expectedVersion as bigint) is null or version = cast(:expectedVersion as bigint))
+            returning completed
+            """)
+    Optional<Boolean> deleteReturningCompleted(@Param("id") Long id, @Param("userId") Long userId,
+                                               @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Applies a partial update to a task owned by the user and returns the updated row together with
+     * its previous completion status, in a single UPDATE ... FROM ... RETURNING statement: the subquery
+     * locks the row and reads the old status, which RETURNING cannot see otherwise.
+     * Null arguments leave the column unchanged. The version is incremented; if expectedVersion is
+     * given, the row is only updated while it is still at that version.
+     *
+     * Native statements bypass the second-level cache, so callers must evict the task afterwards.
+     *
+     * @return the updated task, or empty if it does not exist, belongs to another user or has changed.
+     */
+    @Query(nativeQuery = true, value = """
+            update tasks
+               set title = coalesce(cast(:title as varchar), tasks.title),
+                   description = coalesce(cast(:description as text), tasks.description),
+                   completed = coalesce(cast(:completed as boolean), tasks.completed),
+                   version = tasks.version + 1
+              from (select id, completed from tasks where id = :id and user_id = :userId for update) old
+             where tasks.id = old.id
+               and (cast(:expectedVersion as bigint) is null or tasks.version = cast(:expectedVersion as bigint))
+            returning old.completed as previousCompleted, tasks.id as id, tasks.title as title,
+                      tasks.description as description, tasks.completed as completed, tasks.version as version
+            """)
+    Optional<UpdatedTask> updatePartially(@Param("id") Long id, @Param("userId") Long userId,
+                                          @Param("title") String title, @Param("description") String description,
+                                          @Param("completed") Boolean completed, @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * A task as it is after an update, and whether it was completed before.
+     */
+    interface UpdatedTask {
+        Boolean getPreviousCompleted();
+
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        Boolean getCompleted();
+
+        Long getVersion();
+    }
+
+    // Set-based bulk operations: each is a single UPDATE/DELETE scoped by user_id and returns
+    // the number of affected rows, without loading any Task entities.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.completed = true, t.version = t.version + 1 where t.user = :user and t.completed = false")
+    int completeAllByUser(@Param("user") User user);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.completed = true, t.version = t.version + 1 "
+            + "where t.user = :user and t.id in :ids and t.completed = false")
+    int completeByUserAndIdIn(@Param("user") User user, @Param("ids") Collection<Long> ids);
+
+    // The following deletes also report how many of the deleted tasks were completed, so the
+    // user's task counts can be adjusted. They are native, so callers must evict the Task cache region.
+
+    @Query(nativeQuery = true, value = """
+            with deleted as (delete from tasks where user_id = :userId returning completed)
+            select count(*) as total, count(*) filter (where completed) as completed from deleted
+            """)
+    DeletedTaskCounts deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query(nativeQuery = true, value = """
+            with deleted as (delete from tasks where user_id = :userId and id in (:ids) returning completed)
+            select count(*) as total, count(*) filter (where completed) as completed from deleted
+            """)
+    DeletedTaskCounts deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 
-    List<Task> findByUser(User user);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.user = :user and t.completed = :completed")
+    int deleteByUserAndCompleted(@Param("user") User user, @Param("completed") Boolean completed);
 
-    Optional<Task> findByIdAndUser(Long id, User user);
+    /**
+     * How many tasks a delete removed, and how many of those were completed.
+     */
+    interface DeletedTaskCounts {
+        long getTotal();
 
-    List<Task> findByCompletedAndUser(Boolean completed, User user);
+        long getCompleted();
+    }
 
-    void deleteByUser(User user);
+    /**
+     * Streams all of a user's tasks in id order without materializing them in a list.
+     * Rows are fetched from the database in batches, and entities are loaded read-only
+     * so Hibernate keeps no dirty-checking snapshots. The second-level cache is bypassed so
+     * an export does not flush every other user's tasks out of it. Must be consumed inside
+     * a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select t from Task t where t.user = :user order by t.id")
+    Stream<Task> streamByUser(@Param("user") User user);
 }
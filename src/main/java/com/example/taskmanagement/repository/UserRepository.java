@@ -1,9 +1,50 @@
 package com.example.taskmanagement.repository;
 
 import com.example.taskmanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    /**
+     * Results are kept in the query cache and the user itself in the entity cache,
+     * so repeated lookups of the same username skip the database until app_users changes.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Inserts the user unless the username is taken, in one statement. The unique index on username
+     * decides between concurrent registrations of the same name, so exactly one of them inserts.
+     * Declared to touch only app_users, so only the user caches are invalidated.
+     *
+     * @return 1 if the user was inserted, 0 if the username was already taken.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "app_users"))
+    @Query(nativeQuery = true, value = """
+            insert into app_users (username, password) values (:username, :password)
+            on conflict (username) do nothing
+            """)
+    int insertIfAbsent(@Param("username") String username, @Param("password") String password);
+
+    /**
+     * Replaces the stored password hash. Evicts the user from the entity cache.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Query("select u.id from User u order by u.id")
+    List<Long> findAllIds();
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.UserTaskState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The native statements below are declared to touch only user_task_state; otherwise Hibernate
+ * would treat them as touching every table and clear the whole second-level cache.
+ */
+public interface UserTaskStateRepository extends JpaRepository<UserTaskState, Long> {
+
+    @Query("select s.revision from UserTaskState s where s.userId = :userId")
+    Optional<Long> findRevisionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Increments the user's task revision and adjusts their task counts, creating the row on
+     * the user's first change. Counts that have not been initialised yet stay null.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_task_state"))
+    @Query(nativeQuery = true, value = """
+            insert into user_task_state (user_id, revision) values (:userId, 1)
+            on conflict (user_id) do update
+               set revision = user_task_state.revision + 1,
+                   task_count = user_task_state.task_count + :taskDelta,
+                   completed_count = user_task_state.completed_count + :completedDelta
+            """)
+    int recordChange(@Param("userId") Long userId, @Param("taskDelta") long taskDelta,
+                     @Param("completedDelta") long completedDelta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_task_state"))
+    @Query(nativeQuery = true, value = """
+            insert into user_task_state (user_id, revision) values (:userId, 0)
+            on conflict (user_id) do nothing
+            """)
+    int createIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * Locks the user's state row until the end of the transaction.
+     */
+    @Query(nativeQuery = true, value = "select user_id from user_task_state where user_id = :userId for update")
+    Optional<Long> lockByUserId(@Param("userId") Long userId);
+
+    /**
+     * Locks the state rows of up to {@code limit} users with an id greater than {@code afterUserId},
+     * in id order, until the end of the transaction.
+     *
+     * @return the ids of the locked rows.
+     */
+    @Query(nativeQuery = true, value = """
+            select user_id from user_task_state
+             where user_id > :afterUserId
+             order by user_id
+             limit :limit
+               for update
+            """)
+    List<Long> lockUserIdsAfter(@Param("afterUserId") Long afterUserId, @Param("limit") int limit);
+
+    /**
+     * Recounts the tasks of the given users and stores the counts where they differ.
+     * The rows must already be locked by this transaction: changes committed before the lock are
+     * then visible to this statement, and changes committed after it add their own deltas.
+     *
+     * @return the number of users whose counts were missing or wrong.
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_task_state"))
+    @Query(nativeQuery = true, value = """
+            update user_task_state s
+               set task_count = c.total, completed_count = c.completed
+              from (select u.user_id,
+                           (select count(*) from tasks t where t.user_id = u.user_id) as total,
+                           (select count(*) from tasks t where t.user_id = u.user_id and t.completed) as completed
+                      from user_task_state u
+                     where u.user_id in (:userIds)) c
+             where s.user_id = c.user_id
+               and (s.task_count is distinct from c.total or s.completed_count is distinct from c.completed)
+            """)
+    int recountTasks(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed search query: the terms every matching task must contain.
+ * A word ending in '*' matches any term starting with it, e.g. "rep*" matches "report" and "repair".
+ */
+public record TaskQuery(List<Term> terms) {
+
+    /**
+     * Further terms are ignored, so a single request cannot make a search arbitrarily expensive.
+     */
+    static final int MAX_TERMS = 10;
+
+    public record Term(String text, boolean prefix) {
+    }
+
+    public static TaskQuery parse(String query) {
+        List<Term> terms = new ArrayList<>();
+        if (query == null) {
+            return new TaskQuery(terms);
+        }
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = TaskTokenizer.tokenize(word);
+            for (int i = 0; i < tokens.size() && terms.size() < MAX_TERMS; i++) {
+                // Only the last token of a word like "follow-up*" is a prefix.
+                terms.add(new Term(tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        return new TaskQuery(terms);
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index over task titles and descriptions, partitioned per user.
+ *
+ * A user's index is loaded from the database the first time it is needed (or at startup),
+ * and from then on kept up to date by TaskService after each committed change, so searches
+ * never touch the database. Indexes are bounded by an approximate memory budget: when it is
+ * exceeded, the indexes of the users who searched least recently are dropped and loaded
+ * again on their next search.
+ */
+@Component
+@ManagedResource(objectName = "com.example.taskmanagement:type=TaskSearchIndex")
+public class TaskSearchIndex {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxBytes;
+    private final boolean rebuildOnStartup;
+
+    private final Map<Long, UserTaskIndex> indexes = new ConcurrentHashMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Lock budgetLock = new ReentrantLock();
+
+    public TaskSearchIndex(TaskRepository taskRepository, UserRepository userRepository,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           @Value("${task.search.max-memory-mb:256}") long maxMemoryMb,
+                           @Value("${task.search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxBytes = maxMemoryMb * 1024 * 1024;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Returns the user's best-matching tasks, loading the user's index first if it is not in memory.
+     *
+     * @param query     The parsed query; every term must match.
+     * @param completed Optional completion status the tasks must have.
+     * @param limit     The maximum number of hits.
+     */
+    public List<TaskSearchHit> search(Long userId, TaskQuery query, Boolean completed, int limit) {
+        return indexFor(userId).search(query, completed, limit);
+    }
+
+    // --- Changes, applied by TaskService after the transaction making them has committed ---
+
+    public void indexTask(Long userId, Task task) {
+        apply(userId, index -> index.upsert(task));
+    }
+
+    public void removeTasks(Long userId, Collection<Long> taskIds) {
+        apply(userId, index -> index.remove(taskIds));
+    }
+
+    public void removeTasksByCompletionStatus(Long userId, boolean completed) {
+        apply(userId, index -> index.removeByCompletionStatus(completed));
+    }
+
+    public void removeAllTasks(Long userId) {
+        apply(userId, UserTaskIndex::clear);
+    }
+
+    /**
+     * @param taskIds The tasks that were completed, or null if all of the user's tasks were.
+     */
+    public void completeTasks(Long userId, Collection<Long> taskIds) {
+        apply(userId, index -> index.complete(taskIds));
+    }
+
+    /**
+     * Users whose index is not in memory are skipped: their next load reads the committed change.
+     */
+    private void apply(Long userId, Consumer<UserTaskIndex> change) {
+        UserTaskIndex index = indexes.get(userId);
+        if (index != null) {
+            change.accept(index);
+        }
+    }
+
+    // --- Loading and eviction ---
+
+    /**
+     * Loads the indexes of all users, in id order, until the memory budget is reached.
+     * Runs in the background, so the application serves requests while the index warms up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread.ofPlatform().daemon().name("task-search-rebuild").start(() -> {
+            for (Long userId : userRepository.findAllIds()) {
+                if (estimatedBytes.get() >= maxBytes) {
+                    break;
+                }
+                indexFor(userId);
+            }
+        });
+    }
+
+    private UserTaskIndex indexFor(Long userId) {
+        UserTaskIndex index = indexes.get(userId);
+        if (index == null) {
+            UserTaskIndex created = new UserTaskIndex();
+            // Changes committed from now on are applied to the new index while it loads.
+            created.beginLoad();
+            index = indexes.putIfAbsent(userId, created);
+            if (index == null) {
+                index = created;
+                load(userId, created);
+            }
+        }
+        try {
+            index.loaded().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return index;
+    }
+
+    private void load(Long userId, UserTaskIndex index) {
+        try {
+            boolean consistent;
+            do {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Task> tasks = taskRepository.streamByUser(userRepository.getReferenceById(userId))) {
+                        tasks.forEach(task -> {
+                            index.upsertFromLoad(task);
+                            entityManager.detach(task);
+                        });
+                    }
+                });
+                consistent = index.endLoad();
+                if (!consistent) {
+                    index.beginLoad();
+                }
+            } while (!consistent);
+            loads.incrementAndGet();
+            index.loaded().complete(null);
+        } catch (RuntimeException e) {
+            indexes.remove(userId, index);
+            index.loaded().completeExceptionally(e);
+            throw e;
+        }
+        enforceBudget(index);
+    }
+
+    /**
+     * Drops the least recently searched indexes until the estimated total fits the budget.
+     * The index that was just loaded is kept, even if it alone exceeds the budget.
+     */
+    private void enforceBudget(UserTaskIndex justLoaded) {
+        // A lock rather than synchronized, so virtual threads waiting here unmount from their carrier.
+        budgetLock.lock();
+        try {
+            long total = indexes.values().stream().mapToLong(UserTaskIndex::estimatedBytes).sum();
+            if (total > maxBytes) {
+                List<Map.Entry<Long, UserTaskIndex>> byLastAccess = indexes.entrySet().stream()
+                        .filter(entry -> entry.getValue() != justLoaded && entry.getValue().loaded().isDone())
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos()))
+                        .toList();
+                for (Map.Entry<Long, UserTaskIndex> entry : byLastAccess) {
+                    if (total <= maxBytes) {
+                        break;
+                    }
+                    if (indexes.remove(entry.getKey(), entry.getValue())) {
+                        total -= entry.getValue().estimatedBytes();
+                        evictions.incrementAndGet();
+                    }
+                }
+            }
+            estimatedBytes.set(total);
+        } finally {
+            budgetLock.unlock();
+        }
+    }
+
+    // --- Statistics ---
+
+    @ManagedAttribute(description = "Number of users whose index is in memory")
+    public int getIndexedUsers() {
+        return indexes.size();
+    }
+
+    @ManagedAttribute(description = "Number of tasks in the in-memory indexes")
+    public long getIndexedTasks() {
+        return indexes.values().stream().mapToLong(UserTaskIndex::size).sum();
+    }
+
+    @ManagedAttribute(description = "Estimated heap used by the indexes, in bytes, as of the last load")
+    public long getEstimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    @ManagedAttribute(description = "Number of user indexes loaded from the database")
+    public long getLoads() {
+        return loads.get();
+    }
+
+    @ManagedAttribute(description = "Number of user indexes dropped to stay within the memory budget")
+    public long getEvictions() {
+        return evictions.get();
+    }
+}
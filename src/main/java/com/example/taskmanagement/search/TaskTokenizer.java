@@ -0,0 +1,39 @@
+package com.example.taskmanagement.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits task text into lower-case terms.
+ * Terms are maximal runs of letters and digits; everything else separates them.
+ */
+public final class TaskTokenizer {
+
+    /**
+     * Longer runs are cut to this length, so a pasted blob cannot create huge terms.
+     */
+    static final int MAX_TERM_LENGTH = 40;
+
+    private TaskTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean partOfTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                String term = text.substring(start, Math.min(i, start + MAX_TERM_LENGTH));
+                terms.add(term.toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,551 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.model.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * The inverted index of one user's tasks: for every term, the tasks containing it and how often.
+ * Terms are kept sorted, so prefix queries are a range scan over the term dictionary.
+ *
+ * Each task occupies a numbered slot, and its data and postings are held in primitive arrays
+ * indexed by slot, so searching scans contiguous memory instead of chasing boxed map entries.
+ *
+ * Searches take a read lock and changes a write lock, so one user's writes never block
+ * another user's searches.
+ */
+class UserTaskIndex {
+
+    // Approximate heap cost of the index structures, used for the memory budget.
+    static final long BYTES_PER_POSTING = 24;
+    static final long BYTES_PER_TERM = 96;
+    static final long BYTES_PER_DOCUMENT = 96;
+
+    // A term in the title counts as much as this many occurrences in the description.
+    static final int TITLE_WEIGHT = 3;
+
+    // BM25 parameters.
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A prefix matching more terms than this only considers the first ones, in alphabetical order.
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> slotByTaskId = new HashMap<>();
+
+    // Per-slot task data. A free slot has a null title.
+    private long[] taskIds = new long[16];
+    private String[] titles = new String[16];
+    private boolean[] completedFlags = new boolean[16];
+    private long[] versions = new long[16];
+    private int[] lengths = new int[16];
+    private Postings[][] slotPostings = new Postings[16][];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    private int documentCount;
+    private long totalLength;
+    private long postingCount;
+    private long termChars;
+    private long titleChars;
+
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    // Completed once the first load from the database has finished; searches wait for it.
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    // Non-null while the index is being filled from the database; see TaskSearchIndex.
+    private Set<Long> removedDuringLoad;
+    private boolean bulkChangeDuringLoad;
+
+    /**
+     * The slots containing one term, with the term's weighted frequency in each. Unordered.
+     */
+    private static final class Postings {
+        final String term;
+        int[] slots = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size + (size >> 1) + 1);
+                frequencies = Arrays.copyOf(frequencies, slots.length);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A query term resolved against the term dictionary: the postings of the term itself,
+     * or of every term it is a prefix of.
+     */
+    private record ResolvedTerm(List<Postings> postings, long size) {
+    }
+
+    private record ScoredSlot(int slot, double score) {
+    }
+
+    // --- Changes ---
+
+    /**
+     * Adds or replaces a task. A copy older than the one already indexed is ignored,
+     * so changes applied out of commit order cannot resurrect stale text.
+     */
+    void upsert(Task task) {
+        lock.writeLock().lock();
+        try {
+            long version = task.getVersion() != null ? task.getVersion() : 0L;
+            Integer existing = slotByTaskId.get(task.getId());
+            if (existing != null && versions[existing] > version) {
+                return;
+            }
+            if (existing != null) {
+                removeSlot(existing);
+            }
+            addDocument(task, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a task read from the database while the index is being loaded, unless it was
+     * removed or replaced by a change committed in the meantime.
+     */
+    void upsertFromLoad(Task task) {
+        lock.writeLock().lock();
+        try {
+            if (removedDuringLoad != null && removedDuringLoad.contains(task.getId())) {
+                return;
+            }
+            long version = task.getVersion() != null ? task.getVersion() : 0L;
+            Integer existing = slotByTaskId.get(task.getId());
+            if (existing != null) {
+                if (versions[existing] >= version) {
+                    return;
+                }
+                removeSlot(existing);
+            }
+            addDocument(task, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Collection<Long> taskIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long taskId : taskIds) {
+                if (removedDuringLoad != null) {
+                    removedDuringLoad.add(taskId);
+                }
+                Integer existing = slotByTaskId.get(taskId);
+                if (existing != null) {
+                    removeSlot(existing);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeByCompletionStatus(boolean completed) {
+        removeIf(slot -> completedFlags[slot] == completed);
+    }
+
+    void clear() {
+        removeIf(slot -> true);
+    }
+
+    private void removeIf(IntPredicate filter) {
+        lock.writeLock().lock();
+        try {
+            bulkChangeDuringLoad |= removedDuringLoad != null;
+            removeSlots(filter);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeSlots(IntPredicate filter) {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (titles[slot] != null && filter.test(slot)) {
+                removeSlot(slot);
+            }
+        }
+    }
+
+    /**
+     * Marks tasks as completed, bumping their version like the database does.
+     *
+     * @param taskIds The tasks to complete, or null for all of them.
+     */
+    void complete(Collection<Long> taskIds) {
+        lock.writeLock().lock();
+        try {
+            bulkChangeDuringLoad |= removedDuringLoad != null;
+            if (taskIds == null) {
+                for (int slot = 0; slot < slotCount; slot++) {
+                    completeSlot(slot);
+                }
+            } else {
+                for (Long taskId : taskIds) {
+                    Integer slot = slotByTaskId.get(taskId);
+                    if (slot != null) {
+                        completeSlot(slot);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void completeSlot(int slot) {
+        if (titles[slot] != null && !completedFlags[slot]) {
+            completedFlags[slot] = true;
+            versions[slot]++;
+        }
+    }
+
+    private void addDocument(Task task, long version) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        for (String term : TaskTokenizer.tokenize(task.getTitle())) {
+            termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : TaskTokenizer.tokenize(task.getDescription())) {
+            termFrequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        int slot = allocateSlot();
+        String title = task.getTitle() != null ? task.getTitle() : "";
+        taskIds[slot] = task.getId();
+        titles[slot] = title;
+        completedFlags[slot] = Boolean.TRUE.equals(task.getCompleted());
+        versions[slot] = version;
+        lengths[slot] = length;
+        Postings[] documentPostings = new Postings[termFrequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            Postings termPostings = postings.computeIfAbsent(entry.getKey(), term -> {
+                termChars += term.length();
+                return new Postings(term);
+            });
+            termPostings.add(slot, entry.getValue());
+            documentPostings[i++] = termPostings;
+        }
+        slotPostings[slot] = documentPostings;
+        slotByTaskId.put(task.getId(), slot);
+
+        documentCount++;
+        postingCount += documentPostings.length;
+        totalLength += length;
+        titleChars += title.length();
+    }
+
+    private void removeSlot(int slot) {
+        for (Postings termPostings : slotPostings[slot]) {
+            termPostings.remove(slot);
+            if (termPostings.size == 0) {
+                postings.remove(termPostings.term);
+                termChars -= termPostings.term.length();
+            }
+        }
+        slotByTaskId.remove(taskIds[slot]);
+        documentCount--;
+        postingCount -= slotPostings[slot].length;
+        totalLength -= lengths[slot];
+        titleChars -= titles[slot].length();
+
+        titles[slot] = null;
+        slotPostings[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == titles.length) {
+            int capacity = slotCount * 2;
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            completedFlags = Arrays.copyOf(completedFlags, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            slotPostings = Arrays.copyOf(slotPostings, capacity);
+        }
+        return slotCount++;
+    }
+
+    // --- Loading ---
+
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = new HashSet<>();
+            bulkChangeDuringLoad = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if a bulk change was committed during the load, in which case the loaded
+     *         documents cannot be trusted and the index must be loaded again.
+     */
+    boolean endLoad() {
+        lock.writeLock().lock();
+        try {
+            boolean consistent = !bulkChangeDuringLoad;
+            removedDuringLoad = null;
+            bulkChangeDuringLoad = false;
+            if (!consistent) {
+                removeSlots(slot -> true);
+            }
+            return consistent;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    CompletableFuture<Void> loaded() {
+        return loaded;
+    }
+
+    // --- Searching ---
+
+    /**
+     * Returns the best-scoring tasks containing every query term (BM25 ranking).
+     *
+     * Terms are processed rarest first: the rarest term's postings become the candidates,
+     * and each further term only updates candidates that matched every term before it.
+     *
+     * @param query     The parsed query.
+     * @param completed Optional completion status the tasks must have.
+     * @param limit     The maximum number of hits.
+     */
+    List<TaskSearchHit> search(TaskQuery query, Boolean completed, int limit) {
+        lastAccessNanos = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            if (documentCount == 0 || query.terms().isEmpty()) {
+                return List.of();
+            }
+            List<ResolvedTerm> resolved = new ArrayList<>(query.terms().size());
+            for (TaskQuery.Term term : query.terms()) {
+                ResolvedTerm resolvedTerm = resolve(term);
+                if (resolvedTerm.size() == 0) {
+                    return List.of();
+                }
+                resolved.add(resolvedTerm);
+            }
+            resolved.sort(Comparator.comparingLong(ResolvedTerm::size));
+            double averageLength = (double) totalLength / documentCount;
+
+            Candidates candidates = new Candidates((int) resolved.get(0).size());
+            for (int t = 0; t < resolved.size(); t++) {
+                for (Postings termPostings : resolved.get(t).postings()) {
+                    double idf = idf(termPostings.size);
+                    for (int i = 0; i < termPostings.size; i++) {
+                        int slot = termPostings.slots[i];
+                        if (t == 0 && completed != null && completedFlags[slot] != completed) {
+                            continue;
+                        }
+                        double score = idf * saturate(termPostings.frequencies[i], lengths[slot], averageLength);
+                        candidates.match(slot, t, score);
+                    }
+                }
+                candidates.endTerm(t);
+            }
+
+            PriorityQueue<ScoredSlot> best = new PriorityQueue<>(Comparator.comparingDouble(ScoredSlot::score));
+            candidates.forEachMatchingAll(resolved.size(), (slot, score) -> {
+                if (best.size() < limit) {
+                    best.add(new ScoredSlot(slot, score));
+                } else if (score > best.peek().score()) {
+                    best.poll();
+                    best.add(new ScoredSlot(slot, score));
+                }
+            });
+
+            List<TaskSearchHit> hits = new ArrayList<>(best.size());
+            for (ScoredSlot scored : best) {
+                int slot = scored.slot();
+                hits.add(new TaskSearchHit(taskIds[slot], titles[slot], completedFlags[slot], scored.score()));
+            }
+            hits.sort(Comparator.comparingDouble(TaskSearchHit::getScore).reversed()
+                    .thenComparing(TaskSearchHit::getId));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ResolvedTerm resolve(TaskQuery.Term term) {
+        List<Postings> matching = new ArrayList<>();
+        if (term.prefix()) {
+            Iterator<Postings> it = postings.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false)
+                    .values().iterator();
+            while (it.hasNext() && matching.size() < MAX_PREFIX_EXPANSIONS) {
+                matching.add(it.next());
+            }
+        } else {
+            Postings termPostings = postings.get(term.text());
+            if (termPostings != null) {
+                matching.add(termPostings);
+            }
+        }
+        long size = 0;
+        for (Postings termPostings : matching) {
+            size += termPostings.size;
+        }
+        return new ResolvedTerm(matching, size);
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double saturate(int frequency, int length, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    /**
+     * The slots matching the query so far, in an open-addressing hash table sized from the
+     * rarest term. For a prefix term, a slot's best-scoring expansion counts.
+     */
+    private static final class Candidates {
+        private final int[] slots;
+        private final double[] scores;
+        private final double[] termScores;
+        // The number of query terms the slot has matched, counting the current one.
+        private final int[] matchedTerms;
+        private final int mask;
+
+        Candidates(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 1) * 2 - 1) << 1;
+            slots = new int[capacity];
+            Arrays.fill(slots, -1);
+            scores = new double[capacity];
+            termScores = new double[capacity];
+            matchedTerms = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * Records that the slot contains query term {@code term}. For the first term, the slot
+         * becomes a candidate; for later terms, only candidates that matched all earlier terms count.
+         */
+        void match(int slot, int term, double score) {
+            int i = (slot * 0x9E3779B9) & mask;
+            while (slots[i] != -1 && slots[i] != slot) {
+                i = (i + 1) & mask;
+            }
+            if (slots[i] == -1) {
+                if (term > 0) {
+                    return;
+                }
+                slots[i] = slot;
+            }
+            if (matchedTerms[i] == term) {
+                matchedTerms[i] = term + 1;
+                termScores[i] = score;
+            } else if (matchedTerms[i] == term + 1) {
+                termScores[i] = Math.max(termScores[i], score);
+            }
+        }
+
+        void endTerm(int term) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != -1 && matchedTerms[i] == term + 1) {
+                    scores[i] += termScores[i];
+                }
+            }
+        }
+
+        void forEachMatchingAll(int termCount, SlotScoreConsumer consumer) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != -1 && matchedTerms[i] == termCount) {
+                    consumer.accept(slots[i], scores[i]);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SlotScoreConsumer {
+        void accept(int slot, double score);
+    }
+
+    // --- Bookkeeping ---
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return documentCount * BYTES_PER_DOCUMENT
+                    + postingCount * BYTES_PER_POSTING
+                    + postings.size() * BYTES_PER_TERM
+                    + (termChars + titleChars) * 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+}
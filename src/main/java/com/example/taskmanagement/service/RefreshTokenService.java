@@ -0,0 +1,115 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.RefreshToken;
+import com.example.taskmanagement.repository.RefreshTokenRepository;
+import com.example.taskmanagement.repository.RefreshTokenRepository.UsedRefreshToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens, so clients renew their access token without sending the
+ * password again.
+ *
+ * A refresh token is a random string that can be exchanged once: the exchange marks it used and
+ * returns a new token of the same family. Exchanging a used token means it was copied, so the
+ * whole family is revoked and the user has to log in again. Only SHA-256 hashes of tokens are stored.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-token-ttl:30d}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * Issues the first token of a new family, at login.
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one of the same family.
+     *
+     * @return the token's user and the new refresh token, or empty if the token is unknown, expired or
+     *         already used. A reused token also revokes every other token of its family.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String refreshToken) {
+        byte[] tokenHash = hash(refreshToken);
+        Optional<UsedRefreshToken> used = refreshTokenRepository.markUsed(tokenHash, Instant.now());
+        if (used.isEmpty()) {
+            refreshTokenRepository.findFamilyIdOfUsedToken(tokenHash).ifPresent(familyId -> {
+                log.warn("Refresh token reused; revoking its token family {}", familyId);
+                refreshTokenRepository.deleteByFamilyId(familyId);
+            });
+            return Optional.empty();
+        }
+        UsedRefreshToken token = used.get();
+        AuthenticatedUser user = new AuthenticatedUser(token.getUserId(), token.getUsername(), "", Collections.emptyList());
+        return Optional.of(new Rotation(user, issue(token.getUserId(), token.getFamilyId())));
+    }
+
+    /**
+     * @return the number of expired tokens deleted.
+     */
+    @Scheduled(initialDelayString = "${jwt.refresh-token-purge-interval:PT1H}",
+            fixedDelayString = "${jwt.refresh-token-purge-interval:PT1H}")
+    @Transactional
+    public int purgeExpired() {
+        return refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String issue(Long userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUserId(userId);
+        refreshToken.setExpiresAt(Instant.now().plus(refreshTokenTtl));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The user a refresh token belonged to, and the token that replaces it.
+     */
+    public record Rotation(AuthenticatedUser user, String refreshToken) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's entire task list as newline-delimited JSON (one task object per line).
+ * Tasks are streamed from the database and written one at a time, so memory use stays
+ * constant regardless of how many tasks the user has.
+ */
+@Service
+public class TaskExportService {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter ndjsonWriter;
+
+    public TaskExportService(TaskRepository taskRepository, UserRepository userRepository,
+                             EntityManager entityManager, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.ndjsonWriter = objectMapper.writerFor(Task.class).withRootValueSeparator("\n");
+    }
+
+    /**
+     * Streams the user's tasks to the given output stream, closing it when done.
+     *
+     * @param userId The id of the user whose tasks are exported.
+     * @param out    The stream to write to, typically the HTTP response body.
+     * @return the number of tasks written.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(Long userId, OutputStream out) throws IOException {
+        User user = userRepository.getReferenceById(userId);
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamByUser(user);
+             SequenceWriter writer = ndjsonWriter.writeValues(out)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                writer.write(task);
+                // Drop the written entity from the persistence context so it can be garbage collected.
+                entityManager.detach(task);
+                count++;
+            }
+            // The separator is only written between values; terminate the last line as well.
+            if (count > 0) {
+                writer.flush();
+                out.write('\n');
+            }
+        }
+        return count;
+    }
+}
@@ -1,60 +1,252 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.dto.TaskBatchOperation;
+import com.example.taskmanagement.dto.TaskBatchResult;
 import com.example.taskmanagement.dto.TaskCreationRequest;
+import com.example.taskmanagement.dto.TaskPage;
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.dto.TaskStats;
+import com.example.taskmanagement.dto.TaskView;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.model.UserTaskState;
 import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskRepository.DeletedTaskCounts;
+import com.example.taskmanagement.repository.TaskRepository.UpdatedTask;
 import com.example.taskmanagement.repository.UserRepository;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.example.taskmanagement.repository.UserTaskStateRepository;
+import com.example.taskmanagement.search.TaskQuery;
+import com.example.taskmanagement.search.TaskSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Every public method is timed as "task.service", tagged with the method name and any exception thrown.
+ */
 @Service
+@Timed(value = "task.service", histogram = true)
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final UserTaskStateRepository userTaskStateRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskSearchIndex taskSearchIndex;
+    private final DistributionSummary allTasksPageSize;
+    private final DistributionSummary filteredTasksPageSize;
+
+    @Value("${task.page.default-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${task.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${task.search.default-results:20}")
+    private int defaultSearchResults = 20;
+
+    @Value("${task.search.max-results:100}")
+    private int maxSearchResults = 100;
 
     /**
      * @param taskRepository The repository for accessing task data.
+     * @param userRepository The repository used to obtain references to the owning user.
+     * @param userTaskStateRepository The repository holding each user's task revision.
+     * @param entityManagerFactory The factory whose second-level cache is evicted after native updates.
+     * @param taskSearchIndex The full-text index kept up to date with every committed change.
+     * @param meterRegistry The registry recording how many tasks each list call returns.
      */
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository,
+                       UserTaskStateRepository userTaskStateRepository, EntityManagerFactory entityManagerFactory,
+                       TaskSearchIndex taskSearchIndex, MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.userTaskStateRepository = userTaskStateRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskSearchIndex = taskSearchIndex;
+        this.allTasksPageSize = pageSizeSummary(meterRegistry, "all");
+        this.filteredTasksPageSize = pageSizeSummary(meterRegistry, "completed");
+    }
+
+    private static DistributionSummary pageSizeSummary(MeterRegistry meterRegistry, String filter) {
+        return DistributionSummary.builder("task.list.rows")
+                .description("Tasks returned per list call")
+                .baseUnit("tasks")
+                .tag("filter", filter)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a reference to the user without loading it.
+     * Queries on the reference only use its id, so no select on app_users is issued.
+     */
+    private User getUserReference(Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * Evicts a task changed by a native statement from the second-level cache.
+     */
+    private void evictFromCache(Long taskId) {
+        evictNowAndAfterCompletion(() -> entityManagerFactory.getCache().evict(Task.class, taskId));
+    }
+
+    /**
+     * Evicts all tasks from the second-level cache after a native multi-row statement.
+     */
+    private void evictAllFromCache() {
+        evictNowAndAfterCompletion(() -> entityManagerFactory.getCache().evict(Task.class));
+    }
+
+    /**
+     * Eviction is repeated once the transaction has ended, so a copy cached by a concurrent
+     * reader before the change was committed does not survive it.
+     */
+    private static void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or immediately outside a transaction.
+     * Used to update the search index, which must never show changes that were rolled back.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    /**
+     * Records a change to the user's tasks by incrementing their revision and adjusting their counts.
+     * Must be called in the same transaction as the change, and only if something changed.
+     *
+     * @param taskDelta      The change in the number of tasks.
+     * @param completedDelta The change in the number of completed tasks.
+     */
+    private void recordChange(Long userId, long taskDelta, long completedDelta) {
+        userTaskStateRepository.recordChange(userId, taskDelta, completedDelta);
+    }
+
+    private static int completedCount(Boolean completed) {
+        return Boolean.TRUE.equals(completed) ? 1 : 0;
     }
 
     /**
-     * Retrieves all tasks from the database.
+     * Returns the revision of the user's task collection, which changes whenever any of the
+     * user's tasks is created, updated or deleted. Reading it is a single primary-key lookup.
      *
-     * @return a list of all tasks.
+     * @return the current revision, or 0 if the user's tasks have not changed since revisions were introduced.
      */
-    public List<Task> getAllTasks(String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findByUser(user);
+    @Transactional(readOnly = true)
+    public long getTaskRevision(Long userId) {
+        return userTaskStateRepository.findRevisionByUserId(userId).orElse(0L);
+    }
+
+    /**
+     * Returns how many tasks the user has, and how many of them are open and completed.
+     * The counts are kept up to date by every change, so this is a single primary-key lookup.
+     * The first call for a user counts their tasks once to initialise them.
+     */
+    @Transactional
+    public TaskStats getTaskStats(Long userId) {
+        UserTaskState state = userTaskStateRepository.findById(userId).orElse(null);
+        if (state == null || !state.hasTaskCounts()) {
+            // Lock the row before counting, so concurrent changes are neither missed nor counted twice.
+            userTaskStateRepository.createIfAbsent(userId);
+            userTaskStateRepository.lockByUserId(userId);
+            userTaskStateRepository.recountTasks(List.of(userId));
+            state = userTaskStateRepository.findById(userId).orElseThrow();
+        }
+        return new TaskStats(state.getTaskCount(), state.getCompletedCount());
+    }
+
+    /**
+     * Searches the titles and descriptions of the user's tasks.
+     * Served from the in-memory search index, so the tasks table is not read.
+     *
+     * @param query     The parsed query; every term must match.
+     * @param completed Optional completion status to filter by.
+     * @param limit     Optional maximum number of hits, capped at the configured maximum.
+     * @return the matching tasks, best match first.
+     */
+    public List<TaskSearchHit> searchTasks(Long userId, TaskQuery query, Boolean completed, Integer limit) {
+        int maxHits = limit == null ? defaultSearchResults : Math.max(1, Math.min(limit, maxSearchResults));
+        return taskSearchIndex.search(userId, query, completed, maxHits);
+    }
+
+    /**
+     * Retrieves one page of the user's tasks, in id order, optionally filtered by completion status.
+     * The page size is capped at the configured maximum, so a single call never loads a whole account.
+     * Tasks are selected as TaskViews in a read-only transaction, so none are loaded as entities.
+     *
+     * @param completed Optional completion status to filter by.
+     * @param afterId   Optional id to continue after, taken from the previous page.
+     * @param limit     Optional requested page size.
+     * @return the page of tasks and the position to continue from.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(Long userId, Boolean completed, Long afterId, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        long after = afterId == null ? 0L : afterId;
+
+        // Fetch one extra row to learn whether another page follows without a count query.
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<TaskView> tasks = completed == null
+                ? taskRepository.findViewsByUserIdAfter(userId, after, fetchLimit)
+                : taskRepository.findViewsByUserIdAndCompletedAfter(userId, completed, after, fetchLimit);
+
+        boolean hasNext = tasks.size() > pageSize;
+        List<TaskView> page = hasNext ? tasks.subList(0, pageSize) : tasks;
+        (completed == null ? allTasksPageSize : filteredTasksPageSize).record(page.size());
+        return new TaskPage(page, hasNext ? page.get(pageSize - 1).getId() : null);
     }
 
     /**
      * Retrieves a single task by its ID.
+     * The task is looked up by primary key so it can be served from the second-level cache,
+     * and ownership is checked on the cached user id. The transaction is read-only, so the
+     * entity is loaded without a dirty-checking snapshot, and a TaskView copy is returned.
      *
      * @param id The ID of the task to retrieve.
      * @return an Optional containing the task if found, or an empty Optional if not.
      */
-    public Optional<Task> getTaskById(Long id, String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findByIdAndUser(id, user);
-    }
-
-    public List<Task> getTasksByCompletionStatus(Boolean completed, String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findByCompletedAndUser(completed, user);
+    @Transactional(readOnly = true)
+    public Optional<TaskView> getTaskById(Long id, Long userId) {
+        return taskRepository.findById(id)
+                .filter(task -> task.getUser() != null && userId.equals(task.getUser().getId()))
+                .map(TaskView::of);
     }
 
     /**
@@ -63,50 +255,260 @@ public class TaskService {
      * @param taskRequest The task creation request object containing task details.
      * @return the saved task, including the generated ID.
      */
-    public Task createTask(TaskCreationRequest taskRequest, String username) {
-        User user = getUserByUsername(username);
+    @Transactional
+    public Task createTask(TaskCreationRequest taskRequest, Long userId) {
+        User user = getUserReference(userId);
         Task newTask = new Task();
         newTask.setTitle(taskRequest.getTitle());
         newTask.setDescription(taskRequest.getDescription());
         newTask.setCompleted(false);
         newTask.setUser(user);
-        return taskRepository.save(newTask);
+        Task savedTask = taskRepository.save(newTask);
+        recordChange(userId, 1, 0);
+        afterCommit(() -> taskSearchIndex.indexTask(userId, savedTask));
+        return savedTask;
     }
 
     /**
      * Updates an existing task.
+     * Only the fields present in taskDetails are changed, with a single UPDATE ... RETURNING
+     * statement scoped to the user, so no read-modify-write round trip is needed.
+     * The same statement returns the previous completion status, so the user's completed count
+     * can be adjusted.
      *
-     * @param taskDetails The new details for the task.
-     * @return the updated task, or null if the task was not found.
-     */
-    public Optional<Task> updateTask(Task taskDetails, String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findByIdAndUser(taskDetails.getId(), user).map(taskToUpdate -> {
-            if (taskDetails.getTitle() != null) {
-                taskToUpdate.setTitle(taskDetails.getTitle());
-            }
-            if (taskDetails.getDescription() != null) {
-                taskToUpdate.setDescription(taskDetails.getDescription());
-            }
-            if (taskDetails.getCompleted() != null) {
-                taskToUpdate.setCompleted(taskDetails.getCompleted());
+     * @param taskDetails     The new details for the task.
+     * @param expectedVersion Optional version the task must still be at (from If-Match).
+     * @return the updated task, or an empty Optional if the task was not found.
+     * @throws OptimisticLockingFailureException if the task exists but is no longer at the expected version.
+     */
+    @Transactional
+    public Optional<Task> updateTask(Task taskDetails, Long userId, Long expectedVersion) {
+        Optional<UpdatedTask> updated = taskRepository.updatePartially(taskDetails.getId(), userId,
+                taskDetails.getTitle(), taskDetails.getDescription(), taskDetails.getCompleted(), expectedVersion);
+        if (updated.isEmpty()) {
+            if (expectedVersion != null) {
+                checkNotModifiedConcurrently(taskDetails.getId(), userId);
             }
-            return taskRepository.save(taskToUpdate);
-        });
+            return Optional.empty();
+        }
+        Task task = toTask(updated.get());
+        evictFromCache(task.getId());
+        recordChange(userId, 0, completedCount(task.getCompleted()) - completedCount(updated.get().getPreviousCompleted()));
+        afterCommit(() -> taskSearchIndex.indexTask(userId, task));
+        return Optional.of(task);
+    }
+
+    private static Task toTask(UpdatedTask updated) {
+        Task task = new Task();
+        task.setId(updated.getId());
+        task.setTitle(updated.getTitle());
+        task.setDescription(updated.getDescription());
+        task.setCompleted(updated.getCompleted());
+        task.setVersion(updated.getVersion());
+        return task;
     }
 
+    /**
+     * Deletes a single task with one DELETE statement scoped to the user.
+     *
+     * @param expectedVersion Optional version the task must still be at (from If-Match).
+     * @return true if the task was deleted, false if it was not found.
+     * @throws OptimisticLockingFailureException if the task exists but is no longer at the expected version.
+     */
     @Transactional
-    public boolean deleteTask(Long id, String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findByIdAndUser(id, user).map(task -> {
-            taskRepository.delete(task);
+    public boolean deleteTask(Long id, Long userId, Long expectedVersion) {
+        Optional<Boolean> deletedCompleted = taskRepository.deleteReturningCompleted(id, userId, expectedVersion);
+        if (deletedCompleted.isPresent()) {
+            evictFromCache(id);
+            recordChange(userId, -1, -completedCount(deletedCompleted.get()));
+            afterCommit(() -> taskSearchIndex.removeTasks(userId, List.of(id)));
             return true;
-        }).orElse(false);
+        }
+        if (expectedVersion != null) {
+            checkNotModifiedConcurrently(id, userId);
+        }
+        return false;
     }
 
+    /**
+     * Called only after a conditional write matched no row, to tell a missing task (404)
+     * apart from one that has changed since the client read it (412).
+     */
+    private void checkNotModifiedConcurrently(Long id, Long userId) {
+        if (taskRepository.existsByIdAndUser(id, getUserReference(userId))) {
+            throw new OptimisticLockingFailureException("Task " + id + " has been modified");
+        }
+    }
+
+    /**
+     * Deletes all of the user's tasks with a single DELETE statement.
+     */
     @Transactional
-    public void deleteAllTasks(String username) {
-        User user = getUserByUsername(username);
-        taskRepository.deleteByUser(user);
+    public void deleteAllTasks(Long userId) {
+        if (recordDeletion(userId, taskRepository.deleteAllByUserId(userId))) {
+            afterCommit(() -> taskSearchIndex.removeAllTasks(userId));
+        }
+    }
+
+    /**
+     * @return whether any task was deleted.
+     */
+    private boolean recordDeletion(Long userId, DeletedTaskCounts deleted) {
+        if (deleted.getTotal() == 0) {
+            return false;
+        }
+        evictAllFromCache();
+        recordChange(userId, -deleted.getTotal(), -deleted.getCompleted());
+        return true;
+    }
+
+    /**
+     * Marks tasks as completed with a single UPDATE statement.
+     *
+     * @param ids Optional ids of the tasks to complete; if null, all of the user's open tasks are completed.
+     * @return the number of tasks that changed from open to completed.
+     */
+    @Transactional
+    public int completeTasks(List<Long> ids, Long userId) {
+        User user = getUserReference(userId);
+        int completed;
+        if (ids == null) {
+            completed = taskRepository.completeAllByUser(user);
+        } else {
+            completed = ids.isEmpty() ? 0 : taskRepository.completeByUserAndIdIn(user, ids);
+        }
+        if (completed > 0) {
+            recordChange(userId, 0, completed);
+            afterCommit(() -> taskSearchIndex.completeTasks(userId, ids));
+        }
+        return completed;
+    }
+
+    /**
+     * Deletes the user's tasks with the given ids with a single DELETE statement.
+     * Ids that do not exist or belong to another user are ignored.
+     *
+     * @return the number of tasks deleted.
+     */
+    @Transactional
+    public int deleteTasks(List<Long> ids, Long userId) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        DeletedTaskCounts deleted = taskRepository.deleteByUserIdAndIdIn(userId, ids);
+        if (recordDeletion(userId, deleted)) {
+            afterCommit(() -> taskSearchIndex.removeTasks(userId, ids));
+        }
+        return (int) deleted.getTotal();
+    }
+
+    /**
+     * Deletes all of the user's tasks with the given completion status with a single DELETE statement.
+     *
+     * @return the number of tasks deleted.
+     */
+    @Transactional
+    public int deleteTasksByCompletionStatus(Boolean completed, Long userId) {
+        User user = getUserReference(userId);
+        int deleted = taskRepository.deleteByUserAndCompleted(user, completed);
+        if (deleted > 0) {
+            recordChange(userId, -deleted, Boolean.TRUE.equals(completed) ? -deleted : 0);
+            afterCommit(() -> taskSearchIndex.removeTasksByCompletionStatus(userId, completed));
+        }
+        return deleted;
+    }
+
+    /**
+     * Executes an ordered list of create, update and delete operations in a single transaction.
+     * All tasks referenced by updates and deletes are loaded with one query, and the resulting
+     * inserts, updates and deletes are flushed together as JDBC batches.
+     * An operation on a task that does not exist (or belongs to another user) is reported as 404
+     * and does not prevent the other operations from being applied.
+     *
+     * @param operations The operations, applied in order.
+     * @return one result per operation, in the same order.
+     */
+    @Transactional
+    public List<TaskBatchResult> executeBatch(List<TaskBatchOperation> operations, Long userId) {
+        User user = getUserReference(userId);
+        List<Long> referencedIds = operations.stream()
+                .filter(operation -> operation.getOp() != TaskBatchOperation.Type.CREATE)
+                .map(TaskBatchOperation::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Task> existing = referencedIds.isEmpty()
+                ? new HashMap<>()
+                : taskRepository.findByUserAndIdIn(user, referencedIds).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskBatchResult> results = new ArrayList<>(operations.size());
+        long taskDelta = 0;
+        long completedDelta = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    Task newTask = new Task();
+                    newTask.setTitle(operation.getTitle());
+                    newTask.setDescription(operation.getDescription());
+                    newTask.setCompleted(operation.getCompleted() != null ? operation.getCompleted() : false);
+                    newTask.setUser(user);
+                    results.add(new TaskBatchResult(i, operation.getOp(), 201, taskRepository.save(newTask)));
+                    taskDelta++;
+                    completedDelta += completedCount(newTask.getCompleted());
+                }
+                case UPDATE -> {
+                    Task task = existing.get(operation.getId());
+                    if (task == null) {
+                        results.add(new TaskBatchResult(i, operation.getOp(), 404, null));
+                    } else {
+                        int wasCompleted = completedCount(task.getCompleted());
+                        applyChanges(task, operation);
+                        completedDelta += completedCount(task.getCompleted()) - wasCompleted;
+                        results.add(new TaskBatchResult(i, operation.getOp(), 200, task));
+                    }
+                }
+                case DELETE -> {
+                    Task task = existing.remove(operation.getId());
+                    if (task == null) {
+                        results.add(new TaskBatchResult(i, operation.getOp(), 404, null));
+                    } else {
+                        taskRepository.delete(task);
+                        taskDelta--;
+                        completedDelta -= completedCount(task.getCompleted());
+                        results.add(new TaskBatchResult(i, operation.getOp(), 204, null));
+                    }
+                }
+            }
+        }
+        if (results.stream().anyMatch(result -> result.getStatus() != 404)) {
+            recordChange(userId, taskDelta, completedDelta);
+            // Entities are read after commit, when their versions reflect the flushed state.
+            List<Long> deletedIds = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).getStatus() == 204) {
+                    deletedIds.add(operations.get(i).getId());
+                }
+            }
+            afterCommit(() -> {
+                results.stream()
+                        .filter(result -> result.getTask() != null && !deletedIds.contains(result.getTask().getId()))
+                        .forEach(result -> taskSearchIndex.indexTask(userId, result.getTask()));
+                taskSearchIndex.removeTasks(userId, deletedIds);
+            });
+        }
+        return results;
+    }
+
+    private static void applyChanges(Task task, TaskBatchOperation operation) {
+        if (operation.getTitle() != null) {
+            task.setTitle(operation.getTitle());
+        }
+        if (operation.getDescription() != null) {
+            task.setDescription(operation.getDescription());
+        }
+        if (operation.getCompleted() != null) {
+            task.setCompleted(operation.getCompleted());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.UserTaskStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Periodically recounts every user's tasks and repairs counts that have drifted from the
+ * tasks table, e.g. after rows were changed outside the application.
+ *
+ * Users are processed in batches, each in its own short transaction that locks the batch's
+ * state rows before counting, so concurrent task changes are never lost.
+ */
+@Component
+public class TaskStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsReconciler.class);
+
+    private final UserTaskStateRepository userTaskStateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task.stats.reconciliation-batch-size:500}")
+    private int batchSize = 500;
+
+    public TaskStatsReconciler(UserTaskStateRepository userTaskStateRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.userTaskStateRepository = userTaskStateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return the number of users whose counts were repaired.
+     */
+    @Scheduled(initialDelayString = "${task.stats.reconciliation-interval:PT1H}",
+            fixedDelayString = "${task.stats.reconciliation-interval:PT1H}")
+    public int reconcile() {
+        int repaired = 0;
+        long afterUserId = 0L;
+        while (true) {
+            long after = afterUserId;
+            Batch batch = transactionTemplate.execute(status -> {
+                List<Long> userIds = userTaskStateRepository.lockUserIdsAfter(after, batchSize);
+                return userIds.isEmpty()
+                        ? null
+                        : new Batch(userIds.get(userIds.size() - 1), userTaskStateRepository.recountTasks(userIds));
+            });
+            if (batch == null) {
+                break;
+            }
+            repaired += batch.repaired();
+            afterUserId = batch.lastUserId();
+        }
+        if (repaired > 0) {
+            log.warn("Repaired task counts of {} users", repaired);
+        }
+        return repaired;
+    }
+
+    private record Batch(long lastUserId, int repaired) {
+    }
+}
@@ -3,14 +3,16 @@ package com.example.taskmanagement.service;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -23,6 +25,30 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), new ArrayList<>());
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), new ArrayList<>());
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the user unless the username is taken.
+     *
+     * @param encodedPassword The already hashed password.
+     * @return Whether the user was created.
+     */
+    @Transactional
+    public boolean register(String username, String encodedPassword) {
+        return userRepository.insertIfAbsent(username, encodedPassword) == 1;
+    }
+
+    /**
+     * Saves a password rehashed at the configured cost. Called by Spring Security after a successful
+     * login whose stored hash has a lower cost.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) user;
+        userRepository.updatePassword(authenticatedUser.getId(), newPassword);
+        return new AuthenticatedUser(authenticatedUser.getId(), authenticatedUser.getUsername(), newPassword,
+                authenticatedUser.getAuthorities());
+    }
+}
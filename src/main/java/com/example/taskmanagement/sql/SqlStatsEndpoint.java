@@ -0,0 +1,26 @@
+package com.example.taskmanagement.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GET /actuator/sqlstats: latency of each statement shape since startup, most total time first.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlTracer tracer;
+
+    public SqlStatsEndpoint(SqlTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @ReadOperation
+    public List<StatementStats> statements() {
+        return tracer.statementStats();
+    }
+}
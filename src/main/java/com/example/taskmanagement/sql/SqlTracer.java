@@ -0,0 +1,267 @@
+package com.example.taskmanagement.sql;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records every JDBC statement executed through {@link SqlTracingDataSource}.
+ *
+ * Each statement's duration goes into a latency histogram for its shape (see {@link StatementShapes}).
+ * Statements taking at least the slow threshold are logged right away to the "sql.slow" logger, with
+ * the application method that ran them and their bind parameters; of the others, a random
+ * {@code sampleRate} share is logged the same way to "sql.sample", but from a background thread, and
+ * dropped rather than waited for when that thread falls behind.
+ */
+@Component
+@ManagedResource(objectName = "com.example.taskmanagement:type=SqlTracer")
+public class SqlTracer implements MeterBinder, DisposableBean {
+
+    static final String OTHER_SHAPES = "(other statements)";
+
+    private static final Logger slowLog = LoggerFactory.getLogger("sql.slow");
+    private static final Logger sampleLog = LoggerFactory.getLogger("sql.sample");
+    private static final String APPLICATION_PACKAGE = "com.example.taskmanagement.";
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final boolean redactParameters;
+    private final int maxShapes;
+    private final ThreadPoolExecutor sampleLogger;
+    private volatile long slowThresholdNanos;
+    private volatile double sampleRate;
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LongAdder slowStatements = new LongAdder();
+    private final LongAdder sampledStatements = new LongAdder();
+    private final LongAdder droppedSamples = new LongAdder();
+
+    /**
+     * @param slowThreshold    Statements taking at least this long are logged.
+     * @param sampleRate       Share of the other statements that are logged, between 0 and 1.
+     * @param redactParameters Whether bind parameters other than numbers and booleans are hidden in the log.
+     * @param maxShapes        How many statement shapes get their own histogram; the rest share one.
+     * @param sampleQueueSize  How many sampled statements may wait to be logged before new ones are dropped.
+     */
+    public SqlTracer(@Value("${sql.trace.slow-threshold:200ms}") Duration slowThreshold,
+                     @Value("${sql.trace.sample-rate:0.001}") double sampleRate,
+                     @Value("${sql.trace.redact-parameters:true}") boolean redactParameters,
+                     @Value("${sql.trace.max-shapes:500}") int maxShapes,
+                     @Value("${sql.trace.sample-queue-size:1000}") int sampleQueueSize) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.redactParameters = redactParameters;
+        this.maxShapes = maxShapes;
+        this.sampleLogger = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sampleQueueSize), task -> {
+                    Thread thread = new Thread(task, "sql-sample-log");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Records one executed statement. Called on the thread that executed it.
+     *
+     * @param sql        The statement as sent to the driver, with {@code ?} for bind parameters.
+     * @param parameters The bind parameters by position (index 0 is unused), or an empty list.
+     * @param nanos      How long the driver took to execute it.
+     */
+    void record(String sql, List<Object> parameters, long nanos) {
+        statements.increment();
+        statementNanos.add(nanos);
+        histogramOf(sql).record(nanos);
+
+        if (nanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            if (slowLog.isWarnEnabled()) {
+                slowLog.warn(describe(sql, parameters, nanos));
+            }
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && sampleLog.isInfoEnabled()) {
+            // Described here, on the executing thread, for the caller's stack and the current parameters
+            String entry = describe(sql, parameters, nanos);
+            try {
+                sampleLogger.execute(() -> sampleLog.info(entry));
+                sampledStatements.increment();
+            } catch (RejectedExecutionException e) {
+                droppedSamples.increment();
+            }
+        }
+    }
+
+    /**
+     * @return Latency of each statement shape, most total time first.
+     */
+    public List<StatementStats> statementStats() {
+        return histograms.entrySet().stream()
+                .map(entry -> statsOf(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(StatementStats::totalMillis).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private LatencyHistogram histogramOf(String sql) {
+        // Most statements come from a fixed set of strings, so their shapes are remembered rather than recomputed
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = StatementShapes.shapeOf(sql);
+            if (shapes.size() < maxShapes * 4) {
+                shapes.put(sql, shape);
+            }
+        }
+        LatencyHistogram histogram = histograms.get(shape);
+        if (histogram != null) {
+            return histogram;
+        }
+        if (histograms.size() >= maxShapes) {
+            return histograms.computeIfAbsent(OTHER_SHAPES, key -> new LatencyHistogram());
+        }
+        return histograms.computeIfAbsent(shape, key -> new LatencyHistogram());
+    }
+
+    private String describe(String sql, List<Object> parameters, long nanos) {
+        StringBuilder entry = new StringBuilder()
+                .append(String.format("%.1f ms", nanos / 1_000_000.0))
+                .append(" in ").append(caller())
+                .append(": ").append(sql);
+        if (parameters.size() > 1) {
+            entry.append(" [");
+            for (int i = 1; i < parameters.size(); i++) {
+                entry.append(i > 1 ? ", " : "").append(format(parameters.get(i)));
+            }
+            entry.append(']');
+        }
+        return entry.toString();
+    }
+
+    private String format(Object parameter) {
+        if (parameter == null || parameter instanceof Number || parameter instanceof Boolean) {
+            return String.valueOf(parameter);
+        }
+        if (redactParameters) {
+            return "<redacted>";
+        }
+        if (parameter instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String value = parameter.toString();
+        return value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+    }
+
+    /**
+     * @return The innermost application method on the current stack, such as "TaskService.getTasks",
+     *         skipping the tracing itself and Spring's generated proxies.
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().contains("$$")
+                        && !isOrIsNestedIn(frame.getClassName(), SqlTracer.class)
+                        && !isOrIsNestedIn(frame.getClassName(), SqlTracingDataSource.class))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("(unknown)"));
+    }
+
+    private static boolean isOrIsNestedIn(String className, Class<?> outer) {
+        return className.equals(outer.getName()) || className.startsWith(outer.getName() + "$");
+    }
+
+    private static StatementStats statsOf(String shape, LatencyHistogram histogram) {
+        long count = histogram.count();
+        double totalMillis = histogram.totalNanos() / 1_000_000.0;
+        return new StatementStats(shape, count, totalMillis, count == 0 ? 0 : totalMillis / count,
+                histogram.percentileNanos(0.5) / 1_000_000.0,
+                histogram.percentileNanos(0.95) / 1_000_000.0,
+                histogram.percentileNanos(0.99) / 1_000_000.0,
+                histogram.maxNanos() / 1_000_000.0);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        sampleLogger.shutdown();
+        sampleLogger.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("sql.statements", this, tracer -> tracer.statements.sum(),
+                        tracer -> tracer.statementNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("JDBC statements executed, and time spent executing them")
+                .register(registry);
+        FunctionCounter.builder("sql.statements.slow", slowStatements, LongAdder::sum)
+                .description("Statements that took at least the slow threshold")
+                .register(registry);
+        FunctionCounter.builder("sql.statements.sample.dropped", droppedSamples, LongAdder::sum)
+                .description("Sampled statements not logged because the log queue was full")
+                .register(registry);
+    }
+
+    @ManagedAttribute(description = "Statements taking at least this many milliseconds are logged")
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    @ManagedAttribute
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @ManagedAttribute(description = "Share of the statements below the slow threshold that are logged")
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    @ManagedAttribute
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @ManagedAttribute(description = "Statements executed")
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    @ManagedAttribute(description = "Statements that took at least the slow threshold")
+    public long getSlowStatements() {
+        return slowStatements.sum();
+    }
+
+    @ManagedAttribute(description = "Statements below the slow threshold that were sampled for logging")
+    public long getSampledStatements() {
+        return sampledStatements.sum();
+    }
+
+    @ManagedAttribute(description = "Sampled statements not logged because the log queue was full")
+    public long getDroppedSamples() {
+        return droppedSamples.sum();
+    }
+
+    @ManagedAttribute(description = "Number of statement shapes with their own latency histogram")
+    public int getStatementShapes() {
+        return histograms.size();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.taskmanagement.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A DataSource whose statements report each execution, with its SQL, bind parameters and duration,
+ * to a {@link SqlTracer}.
+ *
+ * Connections and statements are wrapped in JDK proxies that only time the {@code execute*} calls
+ * and note bind parameters; everything else goes straight to the pooled connection. {@link #unwrap}
+ * still reaches the pool, so its metrics and management keep working.
+ */
+public class SqlTracingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlTracer tracer;
+
+    public SqlTracingDataSource(DataSource targetDataSource, SqlTracer tracer) {
+        super(targetDataSource);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return traced(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return traced(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection traced(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlTracingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlTracingDataSource.invoke(method, target, args);
+            if (!STATEMENT_FACTORIES.contains(method.getName())) {
+                return result;
+            }
+            // Plain statements get their SQL with each execute call, prepared ones here
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            return Proxy.newProxyInstance(SqlTracingDataSource.class.getClassLoader(),
+                    new Class<?>[]{method.getReturnType()}, new StatementHandler(result, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String sql;
+        private final List<Object> parameters = new ArrayList<>();
+
+        StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTIONS.contains(name)) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+                long start = System.nanoTime();
+                try {
+                    return SqlTracingDataSource.invoke(method, target, args);
+                } finally {
+                    tracer.record(executed != null ? executed : "(batch)", parameters, System.nanoTime() - start);
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            }
+            return SqlTracingDataSource.invoke(method, target, args);
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() <= index) {
+                parameters.add(null);
+            }
+            parameters.set(index, value);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskmanagement.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a {@link SqlTracingDataSource}, unless
+ * {@code sql.trace.enabled} is false.
+ */
+@Component
+public class SqlTracingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlTracer> tracer;
+    private final boolean enabled;
+
+    public SqlTracingPostProcessor(ObjectProvider<SqlTracer> tracer,
+                                   @Value("${sql.trace.enabled:true}") boolean enabled) {
+        this.tracer = tracer;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof SqlTracingDataSource)) {
+            return new SqlTracingDataSource(dataSource, tracer.getObject());
+        }
+        return bean;
+    }
+}
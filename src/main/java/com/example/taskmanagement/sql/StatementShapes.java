@@ -0,0 +1,26 @@
+package com.example.taskmanagement.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL statements to their shape: literals and bind-parameter lists are replaced by a single
+ * placeholder and whitespace is collapsed, so that statements differing only in their values, or in
+ * the length of an {@code in (...)} list, are aggregated together.
+ */
+final class StatementShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private StatementShapes() {
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("?, ...");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
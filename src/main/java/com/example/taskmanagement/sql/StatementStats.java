@@ -0,0 +1,9 @@
+package com.example.taskmanagement.sql;
+
+/**
+ * Latency of one statement shape since startup, as reported by GET /actuator/sqlstats.
+ * Percentiles are precise to within 25%.
+ */
+public record StatementStats(String shape, long count, double totalMillis, double meanMillis,
+                             double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+}
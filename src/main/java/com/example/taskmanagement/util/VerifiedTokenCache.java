@@ -0,0 +1,212 @@
+package com.example.taskmanagement.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers tokens whose signature has already been verified, so repeat requests
+ * with the same bearer token skip parsing and HMAC verification until the token expires.
+ *
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are never kept in memory.
+ * The cache is bounded: when it is full, storing a token drops the least recently used one, in
+ * constant time. Expired tokens are dropped when next looked up, or age out as least recently used.
+ * Lookups reorder the map, so every access holds its lock; each is a single hash lookup, far
+ * shorter than the verification it saves.
+ *
+ * Hits, verifications and failures (by reason) are also published as metrics.
+ */
+@Component
+@ManagedResource(objectName = "com.example.taskmanagement:type=VerifiedTokenCache")
+public class VerifiedTokenCache implements MeterBinder {
+
+    // Low-cardinality reasons a token is rejected for, used as the "reason" tag of the failure counter.
+    private static final String[] FAILURE_REASONS = {"expired", "signature", "malformed", "unsupported", "invalid"};
+
+    private final JwtUtil jwtUtil;
+    private final int maxSize;
+    private final Map<ByteBuffer, VerifiedToken> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Map<String, LongAdder> failures = new LinkedHashMap<>();
+    private final LongAdder verificationNanos = new LongAdder();
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, VerifiedToken> eldest) {
+                return size() > VerifiedTokenCache.this.maxSize;
+            }
+        };
+        for (String reason : FAILURE_REASONS) {
+            failures.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Returns the verified identity carried by the token, verifying it at most once per token lifetime.
+     *
+     * @param token The compact JWT string.
+     * @return the verified token.
+     * @throws JwtException if the token is malformed, tampered with or expired.
+     */
+    public VerifiedToken verify(String token) {
+        ByteBuffer key = hash(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && cached.isExpired(now)) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtUtil.parseAndVerify(token);
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(), JwtUtil.getUserId(claims), claims.getExpiration().getTime());
+            synchronized (entries) {
+                entries.put(key, verified);
+            }
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            failures.get(failureReason(e)).increment();
+            throw e;
+        } finally {
+            verificationNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static String failureReason(RuntimeException e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        } else if (e instanceof SignatureException) {
+            return "signature";
+        } else if (e instanceof MalformedJwtException) {
+            return "malformed";
+        } else if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        }
+        return "invalid";
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @ManagedAttribute(description = "Requests served from the cache without signature verification")
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @ManagedAttribute(description = "Requests that required a full parse and signature verification")
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @ManagedAttribute(description = "Tokens rejected as malformed, tampered with or expired")
+    public long getFailures() {
+        return failures.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @ManagedAttribute(description = "Total time spent parsing and verifying tokens, in nanoseconds")
+    public long getVerificationNanos() {
+        return verificationNanos.sum();
+    }
+
+    @ManagedAttribute(description = "Number of verified tokens currently cached")
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.token.cache.hits", hits, LongAdder::sum)
+                .description("Tokens accepted from the cache without signature verification")
+                .register(registry);
+        FunctionTimer.builder("auth.token.verification", this, cache -> cache.misses.sum(),
+                        cache -> cache.verificationNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Token parsing and signature verification, successful or not")
+                .register(registry);
+        failures.forEach((reason, count) -> FunctionCounter.builder("auth.token.failures", count, LongAdder::sum)
+                .description("Tokens rejected")
+                .tag("reason", reason)
+                .register(registry));
+        Gauge.builder("auth.token.cache.size", this, VerifiedTokenCache::getSize)
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+
+    /**
+     * The identity extracted from a token whose signature has been verified.
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final Long userId;
+        private final long expiresAtMillis;
+
+        public VerifiedToken(String username, Long userId, long expiresAtMillis) {
+            this.username = username;
+            this.userId = userId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * @return the user's database id, or null for tokens issued without the id claim.
+         */
+        public Long getUserId() {
+            return userId;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
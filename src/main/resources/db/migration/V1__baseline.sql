@@ -0,0 +1,19 @@
+-- The schema as Hibernate's ddl-auto=update created it before migrations were introduced.
+-- Existing databases are baselined at this version and skip it.
+
+create table app_users (
+    id bigint generated by default as identity,
+    username varchar(255),
+    password varchar(255),
+    constraint app_users_pkey primary key (id)
+);
+
+create table tasks (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    description text,
+    completed boolean not null,
+    user_id bigint,
+    constraint tasks_pkey primary key (id),
+    constraint fkhtrgdw4c3g5nsrkpvncvvy4d3 foreign key (user_id) references app_users (id)
+);
@@ -0,0 +1,21 @@
+-- Everything ddl-auto=update added between the baseline and the introduction of migrations.
+-- Databases that ran those versions already have some or all of it, so every step is conditional.
+
+-- Task ids come from a sequence fetched 50 at a time. A sequence created by ddl-auto on a database
+-- that already had tasks started at 1, so it is moved past the highest existing id.
+create sequence if not exists tasks_seq start with 1 increment by 50;
+select setval('tasks_seq', greatest((select coalesce(max(id), 1) from tasks), (select last_value from tasks_seq)));
+
+alter table tasks add column if not exists version bigint default 0 not null;
+
+-- Keyset pagination of a user's tasks, with and without the completion filter.
+create index if not exists idx_tasks_user_id_id on tasks (user_id, id);
+create index if not exists idx_tasks_user_id_completed_id on tasks (user_id, completed, id);
+
+create table if not exists user_task_state (
+    user_id bigint not null,
+    revision bigint not null,
+    constraint user_task_state_pkey primary key (user_id)
+);
+alter table user_task_state add column if not exists task_count bigint;
+alter table user_task_state add column if not exists completed_count bigint;
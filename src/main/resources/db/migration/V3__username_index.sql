@@ -0,0 +1,29 @@
+-- Login and registration look users up by username (UserRepository.findByUsername), which scanned
+-- the whole table. Usernames are unique, so the index also enforces it. It includes the remaining
+-- columns Hibernate selects, so the lookup is answered from the index alone.
+--
+-- Before this index, uniqueness was only checked by the application, so concurrent registrations may
+-- have left duplicate usernames behind. This migration then stops, listing them, and changes nothing.
+-- Decide which account keeps each name, then rename the others and migrate again. For example, to keep
+-- the oldest account of each name and rename the rest to "name#id" (their tasks stay with them):
+--
+--   update app_users u set username = u.username || '#' || u.id
+--    where exists (select 1 from app_users o where o.username = u.username and o.id < u.id);
+do $$
+declare
+    duplicates text;
+begin
+    select string_agg(format('%L (ids %s)', username, ids), ', ' order by username)
+      into duplicates
+      from (select username, string_agg(id::text, ', ' order by id) as ids
+              from app_users
+             group by username
+            having count(*) > 1) d;
+    if duplicates is not null then
+        raise exception 'Cannot create the unique username index, app_users has duplicate usernames: %', duplicates
+            using hint = 'Rename or delete all but one account of each name (see V3__username_index.sql), then migrate again.';
+    end if;
+end
+$$;
+
+create unique index app_users_username_key on app_users (username) include (id, password);
@@ -0,0 +1,21 @@
+-- Refresh tokens issued at login and rotated by POST /user/refresh. Only the SHA-256 hash of each
+-- token is stored. Tokens issued from one login share a family, so a reused (stolen) token can
+-- revoke every token descended from the same login.
+create table refresh_tokens (
+    id bigint generated by default as identity,
+    token_hash bytea not null,
+    family_id uuid not null,
+    user_id bigint not null,
+    expires_at timestamp(6) with time zone not null,
+    used_at timestamp(6) with time zone,
+    constraint refresh_tokens_pkey primary key (id),
+    constraint refresh_tokens_user_id_fkey foreign key (user_id) references app_users (id) on delete cascade
+);
+
+-- Every refresh looks its token up by hash.
+create unique index refresh_tokens_token_hash_key on refresh_tokens (token_hash);
+-- Revoking a family, and the cascade when a user is deleted.
+create index idx_refresh_tokens_family_id on refresh_tokens (family_id);
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+-- The purge of expired tokens.
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
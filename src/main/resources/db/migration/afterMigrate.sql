@@ -0,0 +1,6 @@
+-- Runs after every migration run, including one that applies nothing. Task ids come from tasks_seq,
+-- fetched 50 at a time; if tasks were inserted with explicit or identity-generated ids (by a version
+-- that predates the sequence, or by hand), the sequence is moved past the highest id so the next
+-- pooled block cannot collide with existing rows. Nothing changes when it is already ahead.
+select setval('tasks_seq', (select max(id) from tasks))
+where (select max(id) from tasks) > (select last_value from tasks_seq);
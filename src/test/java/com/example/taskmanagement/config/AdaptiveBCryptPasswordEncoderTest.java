@@ -0,0 +1,36 @@
+package com.example.taskmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    @Test
+    void upgradeEncoding_shouldOnlyRaiseTheCost() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+    }
+
+    @Test
+    void upgradeEncoding_whenNotBCrypt_shouldBeFalse() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("plain"));
+    }
+
+    @Test
+    void calibrate_shouldStayWithinBounds() {
+        assertEquals(4, AdaptiveBCryptPasswordEncoder.calibrate(Duration.ZERO, 4, 6));
+        assertEquals(6, AdaptiveBCryptPasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 6));
+    }
+}
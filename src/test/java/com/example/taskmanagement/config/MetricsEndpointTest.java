@@ -0,0 +1,90 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.service.AuthenticatedUser;
+import com.example.taskmanagement.util.JwtUtil;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = "task.search.rebuild-on-startup=false")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeAll
+    static void setupEnv() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+    }
+
+    @Test
+    void prometheus_shouldExposeHotPathMetricsToAuthenticatedUsers() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(new AuthenticatedUser(-1L, "metrics-user", "", new ArrayList<>()));
+        mockMvc.perform(get("/task").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+        mockMvc.perform(get("/task").header("Authorization", "Bearer " + token + "x")).andExpect(status().isForbidden());
+
+        // Act
+        String metrics = mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertThat(metrics)
+                .contains("auth_token_verification_seconds_count")
+                .contains("auth_token_failures_total{application=\"task-management\",reason=\"signature\"} 1.0")
+                .contains("task_service_seconds_count{application=\"task-management\",class=\"com.example.taskmanagement.service.TaskService\"")
+                .contains("task_list_rows_tasks_count{application=\"task-management\",filter=\"all\"} 1")
+                .contains("spring_data_repository_invocations_seconds_count")
+                .contains("hibernate_statements_total")
+                .contains("sql_statements_seconds_count")
+                .contains("hikaricp_connections_pending")
+                .contains("hikaricp_connections_usage_seconds_bucket")
+                .contains("http_server_requests_seconds_count");
+    }
+
+    @Test
+    void actuator_withoutToken_shouldOnlyExposeHealth() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void sqlStats_shouldListStatementShapesOnlyToAuthenticatedUsers() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(new AuthenticatedUser(-1L, "metrics-user", "", new ArrayList<>()));
+        mockMvc.perform(get("/task").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+        // Act
+        String stats = mockMvc.perform(get("/actuator/sqlstats").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertThat(stats).contains("\"shape\":\"select").contains("\"p99Millis\"");
+        mockMvc.perform(get("/actuator/sqlstats")).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.service.AuthenticatedUser;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(true,
+            2, Duration.ofMinutes(1),
+            3, Duration.ofMinutes(1),
+            3, Duration.ofMinutes(1),
+            1, Duration.ofMinutes(1),
+            1000);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void login_whenOverLimitForAddress_shouldReturn429WithRetryAfter() throws Exception {
+        // Act
+        int first = perform("POST", "/user/login", "10.0.0.1").getStatus();
+        int second = perform("POST", "/user/login", "10.0.0.1").getStatus();
+        MockHttpServletResponse third = perform("POST", "/user/login", "10.0.0.1");
+        int otherAddress = perform("POST", "/user/login", "10.0.0.2").getStatus();
+
+        // Assert
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(429, third.getStatus());
+        assertEquals("30", third.getHeader("Retry-After"));
+        assertEquals(200, otherAddress);
+    }
+
+    @Test
+    void login_behindTrustedProxy_shouldBeLimitedPerForwardedAddress() throws Exception {
+        // Arrange: Tomcat's remote IP handling, as enabled by server.forward-headers-strategy=native
+        RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.init(new MockFilterConfig());
+
+        // Act: both clients come through the same load balancer
+        int first = performThrough(remoteIpFilter, "10.0.0.100", "203.0.113.1").getStatus();
+        int second = performThrough(remoteIpFilter, "10.0.0.100", "203.0.113.1").getStatus();
+        int third = performThrough(remoteIpFilter, "10.0.0.100", "203.0.113.1").getStatus();
+        int otherClient = performThrough(remoteIpFilter, "10.0.0.100", "203.0.113.2").getStatus();
+
+        // Assert
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(429, third);
+        assertEquals(200, otherClient);
+    }
+
+    @Test
+    void login_withForwardedForFromUntrustedAddress_shouldIgnoreHeader() throws Exception {
+        // Arrange
+        RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.init(new MockFilterConfig());
+
+        // Act: a client connecting directly invents a new forwarded address for every attempt
+        performThrough(remoteIpFilter, "198.51.100.7", "203.0.113.1");
+        performThrough(remoteIpFilter, "198.51.100.7", "203.0.113.2");
+        int third = performThrough(remoteIpFilter, "198.51.100.7", "203.0.113.3").getStatus();
+
+        // Assert
+        assertEquals(429, third);
+    }
+
+    @Test
+    void tasks_shouldBeLimitedPerUserAndEndpointClass() throws Exception {
+        // Arrange
+        authenticateAs("alice");
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, perform("GET", "/task", "10.0.0.1").getStatus());
+        }
+        assertEquals(429, perform("GET", "/task/7", "10.0.0.2").getStatus());
+        assertEquals(200, perform("POST", "/task", "10.0.0.1").getStatus());
+        assertEquals(200, perform("GET", "/task/export", "10.0.0.1").getStatus());
+        assertEquals(429, perform("POST", "/task/batch", "10.0.0.1").getStatus());
+
+        authenticateAs("bob");
+        assertEquals(200, perform("GET", "/task", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void unauthenticatedTaskRequests_shouldPassThroughToSecurity() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, perform("GET", "/task", "10.0.0.1").getStatus());
+        }
+        assertEquals(0, filter.getTrackedClients());
+    }
+
+    @Test
+    void classify_shouldGroupEndpoints() {
+        assertEquals(RateLimitFilter.EndpointClass.AUTH, RateLimitFilter.classify("POST", "/user/refresh"));
+        assertEquals(RateLimitFilter.EndpointClass.READ, RateLimitFilter.classify("GET", "/task/search"));
+        assertEquals(RateLimitFilter.EndpointClass.WRITE, RateLimitFilter.classify("DELETE", "/task/7"));
+        assertEquals(RateLimitFilter.EndpointClass.BULK, RateLimitFilter.classify("POST", "/task/complete"));
+        assertNull(RateLimitFilter.classify("GET", "/actuator/prometheus"));
+        assertNull(RateLimitFilter.classify("GET", "/tasks"));
+    }
+
+    private MockHttpServletResponse perform(String method, String path, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse performThrough(RemoteIpFilter remoteIpFilter, String proxyAddress,
+                                                   String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/user/login");
+        request.setRemoteAddr(proxyAddress);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        remoteIpFilter.doFilter(request, response,
+                (forwarded, forwardedResponse) -> filter.doFilter(forwarded, forwardedResponse, new MockFilterChain()));
+        return response;
+    }
+
+    private static void authenticateAs(String username) {
+        AuthenticatedUser user = new AuthenticatedUser(1L, username, "", Collections.emptyList());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskmanagement.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_shouldAllowBurstUpToLimitThenRefillOverPeriod() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, Duration.ofSeconds(10), 100, 4, now::get);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+        }
+        long wait = limiter.tryAcquire("alice");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+        assertEquals(1, limiter.getRejections());
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketsPerKey() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 100, 4, now::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+        assertEquals(0, limiter.tryAcquire("bob"));
+    }
+
+    @Test
+    void evictIdle_shouldDropOnlyRefilledBuckets() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, Duration.ofSeconds(2), 100, 4, now::get);
+        limiter.tryAcquire("alice");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.tryAcquire("bob");
+
+        // Act
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        int evicted = limiter.evictIdle();
+
+        // Assert
+        assertEquals(1, evicted);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_whenStripeFullOfActiveBuckets_shouldLetNewKeysThroughUntracked() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 2, 1, now::get);
+        limiter.tryAcquire("alice");
+        limiter.tryAcquire("bob");
+
+        // Act
+        long wait = limiter.tryAcquire("carol");
+
+        // Assert
+        assertEquals(0, wait);
+        assertEquals(1, limiter.getUntracked());
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_whenContended_shouldNeverGrantMoreThanLimit() throws Exception {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, Duration.ofHours(1), 100, 4, now::get);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire("alice") == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // Assert
+        assertEquals(1000, granted.get());
+        assertThat(limiter.getRejections()).isEqualTo(3000);
+    }
+}
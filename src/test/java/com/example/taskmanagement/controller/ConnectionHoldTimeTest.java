@@ -0,0 +1,171 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskView;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.AuthenticatedUser;
+import com.example.taskmanagement.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that a request holds its database connection only while it queries, not while the
+ * response is written. Serializing each task is slowed down to stand in for a slow client; the
+ * connections in use during serialization, and the connection usage recorded by the pool, must not
+ * include that time.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ConnectionHoldTimeTest.SlowSerializationConfig.class)
+@TestPropertySource(properties = "task.search.rebuild-on-startup=false")
+class ConnectionHoldTimeTest {
+
+    private static final int TASKS = 10;
+    private static final long WRITE_DELAY_MILLIS = 20;
+    private static final int REQUESTS = 5;
+
+    private static final List<Integer> activeConnectionsDuringWrite = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String token;
+    private Long taskId;
+
+    @TestConfiguration
+    static class SlowSerializationConfig {
+
+        @Bean
+        Jackson2ObjectMapperBuilderCustomizer slowTaskViewSerializer(ObjectProvider<DataSource> dataSource) {
+            return builder -> builder.serializerByType(TaskView.class, new JsonSerializer<TaskView>() {
+                @Override
+                public void serialize(TaskView task, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+                    activeConnectionsDuringWrite.add(pool().getHikariPoolMXBean().getActiveConnections());
+                    try {
+                        Thread.sleep(WRITE_DELAY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", task.getId());
+                    generator.writeStringField("title", task.getTitle());
+                    generator.writeEndObject();
+                }
+
+                private HikariDataSource pool() throws IOException {
+                    try {
+                        return dataSource.getObject().unwrap(HikariDataSource.class);
+                    } catch (SQLException e) {
+                        throw new IOException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    @BeforeAll
+    static void setupEnv() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("connectionholduser", "password"));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("title" + i);
+            task.setCompleted(false);
+            task.setUser(user);
+            tasks.add(task);
+        }
+        taskId = taskRepository.saveAll(tasks).get(0).getId();
+        token = jwtUtil.generateToken(new AuthenticatedUser(user.getId(), user.getUsername(), "", new ArrayList<>()));
+        activeConnectionsDuringWrite.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("connectionholduser").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void getTasks_shouldReleaseConnectionBeforeWritingResponse() throws Exception {
+        // Arrange
+        Timer usage = meterRegistry.get("hikaricp.connections.usage").timer();
+        long countBefore = usage.count();
+        double millisBefore = usage.totalTime(TimeUnit.MILLISECONDS);
+
+        // Act
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(get("/task").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(TASKS));
+        }
+
+        // Assert
+        assertThat(activeConnectionsDuringWrite).hasSize(REQUESTS * TASKS).containsOnly(0);
+        assertThat(usage.count()).isGreaterThan(countBefore);
+        double heldMillisPerRequest = (usage.totalTime(TimeUnit.MILLISECONDS) - millisBefore) / REQUESTS;
+        assertThat(heldMillisPerRequest).isLessThan(TASKS * WRITE_DELAY_MILLIS);
+    }
+
+    @Test
+    void getTaskById_shouldReleaseConnectionBeforeWritingResponse() throws Exception {
+        mockMvc.perform(get("/task").param("id", String.valueOf(taskId)).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(taskId));
+
+        assertThat(activeConnectionsDuringWrite).containsExactly(0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.AuthenticationRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Registers the same few usernames from thousands of concurrent requests and checks that each
+ * name is created exactly once, and every other attempt gets "Username is already taken".
+ * Runs without a test transaction, so every registration commits on its own.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        // Cheap hashes and room to queue all of them; the test is about the insert, not BCrypt.
+        "security.password.bcrypt-strength=4",
+        "security.password.max-queued-hashes=10000",
+        "task.search.rebuild-on-startup=false",
+        // Every request comes from the same address
+        "ratelimit.enabled=false"
+})
+class RegistrationConcurrencyTest {
+
+    private static final String PREFIX = "concurrent-registration-";
+    private static final int USERNAMES = 50;
+    private static final int REQUESTS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setupEnv() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+    }
+
+    @BeforeEach
+    @AfterEach
+    void deleteUsers() {
+        jdbcTemplate.update("delete from app_users where username like ?", PREFIX + "%");
+    }
+
+    @Test
+    void registerUser_whenSameUsernamesRegisteredConcurrently_shouldCreateEachOnce() throws Exception {
+        // Arrange
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                AuthenticationRequest request = new AuthenticationRequest();
+                request.setUsername(PREFIX + (i % USERNAMES));
+                request.setPassword("password");
+                String body = objectMapper.writeValueAsString(request);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/user/register")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn();
+                }));
+            }
+            start.countDown();
+        }
+
+        // Assert
+        int created = 0;
+        int taken = 0;
+        for (Future<MvcResult> result : results) {
+            MvcResult response = result.get();
+            if (response.getResponse().getStatus() == 200) {
+                created++;
+            } else {
+                assertThat(response.getResponse().getStatus()).isEqualTo(400);
+                assertThat(response.getResponse().getContentAsString()).isEqualTo("Username is already taken");
+                taken++;
+            }
+        }
+        assertThat(created).isEqualTo(USERNAMES);
+        assertThat(taken).isEqualTo(REQUESTS - USERNAMES);
+        assertThat(jdbcTemplate.queryForList(
+                "select username from app_users where username like ? group by username having count(*) > 1",
+                String.class, PREFIX + "%")).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from app_users where username like ?", Long.class, PREFIX + "%"))
+                .isEqualTo(USERNAMES);
+    }
+}
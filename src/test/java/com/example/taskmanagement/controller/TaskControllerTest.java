@@ -1,11 +1,23 @@
 package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.config.JwtRequestFilter;
+import com.example.taskmanagement.config.RateLimitFilter;
 import com.example.taskmanagement.config.SecurityConfig;
+import com.example.taskmanagement.dto.TaskBatchOperation;
+import com.example.taskmanagement.dto.TaskBatchResult;
 import com.example.taskmanagement.dto.TaskCreationRequest;
+import com.example.taskmanagement.dto.TaskPage;
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.dto.TaskStats;
+import com.example.taskmanagement.dto.TaskView;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.search.TaskQuery;
+import com.example.taskmanagement.service.AuthenticatedUser;
+import com.example.taskmanagement.service.TaskExportService;
 import com.example.taskmanagement.service.TaskService;
+import com.example.taskmanagement.util.CursorCodec;
 import com.example.taskmanagement.util.JwtUtil;
+import com.example.taskmanagement.util.VerifiedTokenCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,31 +26,41 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
-@Import({SecurityConfig.class, JwtUtil.class, JwtRequestFilter.class})
+@Import({SecurityConfig.class, JwtUtil.class, VerifiedTokenCache.class, JwtRequestFilter.class, RateLimitFilter.class})
+// Every test calls as the same user, so the bulk endpoints would soon run out of their per-minute budget
+@TestPropertySource(properties = "ratelimit.enabled=false")
 public class TaskControllerTest {
 
     @Autowired
@@ -47,6 +69,9 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
     @MockitoBean
     private com.example.taskmanagement.service.UserService userService;
 
@@ -58,6 +83,7 @@ public class TaskControllerTest {
 
     private String token;
     private final String testUser = "testuser";
+    private final Long testUserId = 1L;
 
     @BeforeAll
     static void setupEnv() {
@@ -70,7 +96,7 @@ public class TaskControllerTest {
 
     @BeforeEach
     void setup() {
-        UserDetails userDetails = new User(testUser, "password", new ArrayList<>());
+        UserDetails userDetails = new AuthenticatedUser(testUserId, testUser, "password", new ArrayList<>());
         when(userService.loadUserByUsername(testUser)).thenReturn(userDetails);
         token = jwtUtil.generateToken(userDetails);
     }
@@ -93,7 +119,7 @@ public class TaskControllerTest {
 
         List<Task> allTasks = Arrays.asList(task1, task2);
 
-        when(taskService.getAllTasks(testUser)).thenReturn(allTasks);
+        when(taskService.getTasks(testUserId, null, null, null)).thenReturn(new TaskPage(allTasks.stream().map(TaskView::of).toList(), null));
 
         // Act & Assert
         mockMvc.perform(get("/task").header("Authorization", "Bearer " + token))
@@ -106,6 +132,112 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[1].title").value("title2"));
     }
 
+    @Test
+    void getTaskStats_shouldReturnCounts() throws Exception {
+        // Arrange
+        when(taskService.getTaskStats(testUserId)).thenReturn(new TaskStats(5, 2));
+
+        // Act & Assert
+        mockMvc.perform(get("/task/stats").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.open").value(3))
+                .andExpect(jsonPath("$.completed").value(2));
+    }
+
+    @Test
+    void searchTasks_shouldReturnHits() throws Exception {
+        // Arrange
+        when(taskService.searchTasks(eq(testUserId), any(TaskQuery.class), isNull(), isNull()))
+                .thenReturn(List.of(new TaskSearchHit(1L, "Buy milk", false, 1.5)));
+
+        // Act & Assert
+        mockMvc.perform(get("/task/search").param("q", "milk").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].title").value("Buy milk"))
+                .andExpect(jsonPath("$[0].score").value(1.5));
+    }
+
+    @Test
+    void searchTasks_whenQueryHasNoWords_shouldBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/task/search").param("q", "  ?! ").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).searchTasks(any(), any(), any(), any());
+    }
+
+    @Test
+    void getTasks_whenRevisionUnchanged_shouldReturnNotModifiedWithoutLoadingTasks() throws Exception {
+        // Arrange
+        when(taskService.getTaskRevision(testUserId)).thenReturn(42L);
+
+        // Act & Assert
+        mockMvc.perform(get("/task")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", "\"u1r42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"u1r42\""));
+
+        verify(taskService, never()).getTasks(any(), any(), any(), any());
+    }
+
+    @Test
+    void getTasks_whenOtherUserAtSameRevision_shouldReturnDifferentETagAndIgnoreTheirs() throws Exception {
+        // Arrange
+        UserDetails otherUser = new AuthenticatedUser(2L, "otheruser", "password", new ArrayList<>());
+        when(userService.loadUserByUsername("otheruser")).thenReturn(otherUser);
+        String otherToken = jwtUtil.generateToken(otherUser);
+        when(taskService.getTaskRevision(testUserId)).thenReturn(5L);
+        when(taskService.getTaskRevision(2L)).thenReturn(5L);
+        when(taskService.getTasks(testUserId, null, null, null)).thenReturn(new TaskPage(List.of(), null));
+        when(taskService.getTasks(2L, null, null, null)).thenReturn(new TaskPage(List.of(), null));
+
+        String eTag = mockMvc.perform(get("/task").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(header().string("Vary", "Authorization"))
+                .andReturn().getResponse().getHeader("ETag");
+        String otherETag = mockMvc.perform(get("/task").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        assertThat(otherETag).isNotEqualTo(eTag);
+        mockMvc.perform(get("/task")
+                        .header("Authorization", "Bearer " + otherToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", otherETag));
+    }
+
+    @Test
+    void getTasks_whenMorePagesFollow_shouldReturnNextCursor() throws Exception {
+        // Arrange
+        Task task = new Task();
+        task.setId(5L);
+        task.setTitle("title5");
+        task.setCompleted(false);
+
+        when(taskService.getTasks(testUserId, null, 4L, 1)).thenReturn(new TaskPage(List.of(TaskView.of(task)), 5L));
+
+        // Act & Assert
+        mockMvc.perform(get("/task")
+                        .param("cursor", CursorCodec.encode(4L))
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", CursorCodec.encode(5L)))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(5L));
+    }
+
+    @Test
+    void getTasks_whenInvalidCursor_shouldBadRequest() throws Exception {
+        mockMvc.perform(get("/task").param("cursor", "not-a-cursor").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getTasks_whenValidId_shouldReturnTask() throws Exception {
         // Arrange
@@ -115,7 +247,7 @@ public class TaskControllerTest {
         task.setDescription("description1");
         task.setCompleted(false);
 
-        when(taskService.getTaskById(task.getId(), testUser)).thenReturn(Optional.of(task));
+        when(taskService.getTaskById(task.getId(), testUserId)).thenReturn(Optional.of(TaskView.of(task)));
 
         // Act & Assert
         mockMvc.perform(get("/task").param("id", String.valueOf(task.getId())).header("Authorization", "Bearer " + token))
@@ -127,11 +259,31 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.completed").value(false));
     }
 
+    @Test
+    void getTasks_whenIfNoneMatchesCurrentVersion_shouldReturnNotModified() throws Exception {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("title1");
+        task.setCompleted(false);
+        task.setVersion(3L);
+
+        when(taskService.getTaskById(task.getId(), testUserId)).thenReturn(Optional.of(TaskView.of(task)));
+
+        // Act & Assert
+        mockMvc.perform(get("/task").param("id", "1")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getTasks_whenInvalidId_shouldReturnNotFound() throws Exception {
         // Arrange
         Long invalidId = 99L;
-        when(taskService.getTaskById(invalidId, testUser)).thenReturn(Optional.empty());
+        when(taskService.getTaskById(invalidId, testUserId)).thenReturn(Optional.empty());
 
         // Act & Assert
         mockMvc.perform(get("/task").param("id", String.valueOf(invalidId)).header("Authorization", "Bearer " + token))
@@ -148,7 +300,7 @@ public class TaskControllerTest {
 
         List<Task> completedTasks = Collections.singletonList(task1);
 
-        when(taskService.getTasksByCompletionStatus(true, testUser)).thenReturn(completedTasks);
+        when(taskService.getTasks(testUserId, true, null, null)).thenReturn(new TaskPage(completedTasks.stream().map(TaskView::of).toList(), null));
         // Act & Assert
         mockMvc.perform(get("/task").param("completed", "true").header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
@@ -165,6 +317,26 @@ public class TaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void exportTasks_shouldStreamNdjson() throws Exception {
+        mockMvc.perform(get("/task/export").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        verify(taskExportService).exportTasks(eq(testUserId), any(OutputStream.class));
+    }
+
+    @Test
+    void exportTasks_whenGzip_shouldSendGzipFileWithoutContentEncoding() throws Exception {
+        mockMvc.perform(get("/task/export").param("gzip", "true").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson.gz\""))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        verify(taskExportService).exportTasks(eq(testUserId), any(GZIPOutputStream.class));
+    }
+
     @Test
     void createTasks_whenValidTitle_shouldBeSuccessfulRequest() throws Exception {
 
@@ -178,7 +350,7 @@ public class TaskControllerTest {
         savedTask.setDescription(request.getDescription());
         savedTask.setCompleted(false);
 
-        when(taskService.createTask(any(TaskCreationRequest.class), eq(testUser))).thenReturn(savedTask);
+        when(taskService.createTask(any(TaskCreationRequest.class), eq(testUserId))).thenReturn(savedTask);
 
         // Act & Assert
         mockMvc.perform(post("/task")
@@ -208,6 +380,56 @@ public class TaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void executeBatch_whenValidOperations_shouldReturnResultPerOperation() throws Exception {
+        // Arrange
+        Task created = new Task();
+        created.setId(3L);
+        created.setTitle("Batch Task");
+        created.setCompleted(false);
+
+        when(taskService.executeBatch(any(), eq(testUserId))).thenReturn(List.of(
+                new TaskBatchResult(0, TaskBatchOperation.Type.CREATE, 201, created),
+                new TaskBatchResult(1, TaskBatchOperation.Type.DELETE, 404, null)));
+
+        String body = "{\"operations\":[{\"op\":\"CREATE\",\"title\":\"Batch Task\"},{\"op\":\"DELETE\",\"id\":99}]}";
+
+        // Act & Assert
+        mockMvc.perform(post("/task/batch")
+                .header("Authorization", "Bearer " + token)
+                .contentType("application/json")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].task.id").value(3L))
+                .andExpect(jsonPath("$[1].status").value(404));
+    }
+
+    @Test
+    void executeBatch_whenCreateWithoutTitle_shouldBeBadRequest() throws Exception {
+        String body = "{\"operations\":[{\"op\":\"CREATE\"}]}";
+
+        mockMvc.perform(post("/task/batch")
+                .header("Authorization", "Bearer " + token)
+                .contentType("application/json")
+                .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void executeBatch_whenOperationIsNull_shouldBeBadRequest() throws Exception {
+        String body = "{\"operations\":[null]}";
+
+        mockMvc.perform(post("/task/batch")
+                .header("Authorization", "Bearer " + token)
+                .contentType("application/json")
+                .content(body))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).executeBatch(any(), any());
+    }
+
     @Test
     void updateTasks_whenValidID_shouldBeSuccessful() throws Exception {
         // Arrange
@@ -217,7 +439,7 @@ public class TaskControllerTest {
         updateDetails.setDescription("Updated Description");
         updateDetails.setCompleted(true);
 
-        when(taskService.updateTask(any(Task.class), eq(testUser))).thenReturn(Optional.of(updateDetails));
+        when(taskService.updateTask(any(Task.class), eq(testUserId), isNull())).thenReturn(Optional.of(updateDetails));
 
         // Act & Assert
         mockMvc.perform(put("/task")
@@ -229,6 +451,25 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.completed").value(true));
     }
 
+    @Test
+    void updateTasks_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        Task updateDetails = new Task();
+        updateDetails.setId(1L);
+        updateDetails.setTitle("Updated Title");
+
+        when(taskService.updateTask(any(Task.class), eq(testUserId), eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("Task 1 has been modified"));
+
+        // Act & Assert
+        mockMvc.perform(put("/task")
+                .header("Authorization", "Bearer " + token)
+                .header("If-Match", "\"2\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(updateDetails)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void updateTasks_whenInvalidId_shouldReturnNotFound() throws Exception {
         // Arrange
@@ -236,7 +477,7 @@ public class TaskControllerTest {
         updateDetailsWithInvalidId.setId(99L); // Use an ID that doesn't exist
         updateDetailsWithInvalidId.setTitle("This should not be saved");
 
-        when(taskService.updateTask(any(Task.class), eq(testUser))).thenReturn(Optional.empty());
+        when(taskService.updateTask(any(Task.class), eq(testUserId), isNull())).thenReturn(Optional.empty());
 
         // Act & Assert
         mockMvc.perform(put("/task")
@@ -246,10 +487,46 @@ public class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void updateTasks_whenIfMatchAnyAndTaskMissing_shouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        Task updateDetails = new Task();
+        updateDetails.setId(99L);
+        updateDetails.setTitle("This should not be saved");
+
+        when(taskService.updateTask(any(Task.class), eq(testUserId), isNull())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(put("/task")
+                .header("Authorization", "Bearer " + token)
+                .header("If-Match", "*")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(updateDetails)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTasks_whenIfMatchIsMalformed_shouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        Task updateDetails = new Task();
+        updateDetails.setId(1L);
+        updateDetails.setTitle("Updated Title");
+
+        // Act & Assert
+        mockMvc.perform(put("/task")
+                .header("Authorization", "Bearer " + token)
+                .header("If-Match", "W/\"2\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(updateDetails)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
     @Test
     void deleteTasks_whenNoId_shouldDeleteAllTasks() throws Exception {
         // Arrange: Mock the service to do nothing when deleteAllTasks is called.
-        doNothing().when(taskService).deleteAllTasks(testUser);
+        doNothing().when(taskService).deleteAllTasks(testUserId);
 
         // Act & Assert: Perform a DELETE request and expect a 204 No Content status.
         mockMvc.perform(delete("/task").header("Authorization", "Bearer " + token))
@@ -260,19 +537,59 @@ public class TaskControllerTest {
     void deleteTasks_whenValidId_shouldDeleteTask() throws Exception {
         // Arrange
         Long taskId = 1L;
-        when(taskService.deleteTask(taskId, testUser)).thenReturn(true);
+        when(taskService.deleteTask(taskId, testUserId, null)).thenReturn(true);
 
         mockMvc.perform(delete("/task").param("id", String.valueOf(taskId)).header("Authorization", "Bearer " + token))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNoContent());
     }
 
     @Test
     void deleteTasks_whenInvalidId_shouldReturnNotFound() throws Exception {
         // Arrange
         Long invalidTaskId = 99L;
-        when(taskService.deleteTask(invalidTaskId, testUser)).thenReturn(false);
+        when(taskService.deleteTask(invalidTaskId, testUserId, null)).thenReturn(false);
 
         mockMvc.perform(delete("/task").param("id", String.valueOf(invalidTaskId)).header("Authorization", "Bearer " + token))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void deleteTasks_whenIfMatchAnyAndTaskMissing_shouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        Long invalidTaskId = 99L;
+        when(taskService.deleteTask(invalidTaskId, testUserId, null)).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(delete("/task").param("id", String.valueOf(invalidTaskId))
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", "*"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void deleteTasks_whenIds_shouldReturnAffectedCount() throws Exception {
+        when(taskService.deleteTasks(List.of(1L, 2L, 3L), testUserId)).thenReturn(2);
+
+        mockMvc.perform(delete("/task").param("ids", "1,2,3").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    @Test
+    void deleteTasks_whenCompleted_shouldReturnAffectedCount() throws Exception {
+        when(taskService.deleteTasksByCompletionStatus(true, testUserId)).thenReturn(5);
+
+        mockMvc.perform(delete("/task").param("completed", "true").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+    }
+
+    @Test
+    void completeTasks_whenNoIds_shouldCompleteAllOpenTasks() throws Exception {
+        when(taskService.completeTasks(null, testUserId)).thenReturn(7);
+
+        mockMvc.perform(post("/task/complete").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(7));
+    }
 }
\ No newline at end of file
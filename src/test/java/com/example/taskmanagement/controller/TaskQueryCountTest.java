@@ -0,0 +1,417 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskCreationRequest;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.AuthenticatedUser;
+import com.example.taskmanagement.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each task endpoint sends to the database.
+ * Authentication must not touch app_users, so every count below is the task work alone,
+ * plus the primary-key read (lists) or upsert (mutations) of the user's task revision.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // The background index warm-up would otherwise add its own statements to the counts.
+        "task.search.rebuild-on-startup=false",
+        "ratelimit.enabled=false",
+        // Opt-in, and the cached reads below are part of what is counted.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+public class TaskQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static final int REVISION_READ = 1;
+    private static final int REVISION_INCREMENT = 1;
+
+    private Statistics statistics;
+    private String token;
+    private Long userId;
+    private Long taskId;
+
+    @BeforeAll
+    static void setupEnv() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("querycountuser", "password"));
+        userId = user.getId();
+
+        Task task = new Task();
+        task.setTitle("title1");
+        task.setDescription("description1");
+        task.setCompleted(false);
+        task.setUser(user);
+        taskId = taskRepository.save(task).getId();
+
+        token = jwtUtil.generateToken(new AuthenticatedUser(user.getId(), user.getUsername(), "", new ArrayList<>()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("querycountuser").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void getAllTasks_shouldIssueOneStatement() throws Exception {
+        assertThat(statementsFor(get("/task"))).isEqualTo(1 + REVISION_READ);
+    }
+
+    @Test
+    void getAllTasks_whenListUnchanged_shouldReturnNotModifiedWithoutReadingTasks() throws Exception {
+        String eTag = mockMvc.perform(get("/task").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        statistics.clear();
+        mockMvc.perform(get("/task")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(REVISION_READ);
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getFetchCount()).isZero();
+    }
+
+    @Test
+    void getAllTasks_whenListChanged_shouldReturnNewList() throws Exception {
+        String eTag = mockMvc.perform(get("/task").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(delete("/task").param("id", String.valueOf(taskId)).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/task")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getTaskById_shouldIssueAtMostOneStatement() throws Exception {
+        assertThat(statementsFor(get("/task").param("id", String.valueOf(taskId)))).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void getTaskById_whenCached_shouldIssueNoStatements() throws Exception {
+        statementsFor(get("/task").param("id", String.valueOf(taskId)));
+
+        assertThat(statementsFor(get("/task").param("id", String.valueOf(taskId)))).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void getTaskById_afterUnrelatedChange_shouldStillBeCached() throws Exception {
+        statementsFor(get("/task").param("id", String.valueOf(taskId)));
+        TaskCreationRequest request = new TaskCreationRequest();
+        request.setTitle("Unrelated Task");
+        statementsFor(post("/task")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(request)));
+
+        // The revision upsert is a native statement; it must not clear the whole cache.
+        assertThat(statementsFor(get("/task").param("id", String.valueOf(taskId)))).isZero();
+    }
+
+    @Test
+    void getTaskById_whenOwnedByAnotherUser_shouldReturnNotFound() throws Exception {
+        User other = userRepository.save(new User("querycountother", "password"));
+        String otherToken = jwtUtil.generateToken(new AuthenticatedUser(other.getId(), other.getUsername(), "", new ArrayList<>()));
+        try {
+            mockMvc.perform(get("/task").param("id", String.valueOf(taskId)).header("Authorization", "Bearer " + otherToken))
+                    .andExpect(status().isNotFound());
+        } finally {
+            userRepository.delete(other);
+        }
+    }
+
+    @Test
+    void getTaskById_afterUpdate_shouldNotReturnCachedCopy() throws Exception {
+        statementsFor(get("/task").param("id", String.valueOf(taskId)));
+        Task update = new Task();
+        update.setId(taskId);
+        update.setTitle("Updated Title");
+        statementsFor(put("/task")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(update)));
+
+        mockMvc.perform(get("/task").param("id", String.valueOf(taskId)).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated Title"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void getTaskById_afterBulkComplete_shouldNotReturnCachedCopy() throws Exception {
+        statementsFor(get("/task").param("id", String.valueOf(taskId)));
+        statementsFor(post("/task/complete"));
+
+        mockMvc.perform(get("/task").param("id", String.valueOf(taskId)).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void findByUsername_whenCached_shouldIssueNoStatements() {
+        userRepository.findByUsername("querycountuser").orElseThrow();
+
+        statistics.clear();
+        assertThat(userRepository.findByUsername("querycountuser")).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getTasksByCompletionStatus_shouldIssueOneStatement() throws Exception {
+        assertThat(statementsFor(get("/task").param("completed", "false"))).isEqualTo(1 + REVISION_READ);
+    }
+
+    @Test
+    void createTask_shouldIssueOneInsert() throws Exception {
+        TaskCreationRequest request = new TaskCreationRequest();
+        request.setTitle("New Test Task");
+
+        // Ids are fetched from the sequence 50 at a time, so at most one nextval precedes the insert.
+        assertThat(statementsFor(post("/task")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(request)))).isLessThanOrEqualTo(2 + REVISION_INCREMENT);
+    }
+
+    @Test
+    void executeBatch_shouldBatchStatementsRegardlessOfOperationCount() throws Exception {
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            operations.add(Map.of("op", "CREATE", "title", "Batch task " + i));
+        }
+        operations.add(Map.of("op", "UPDATE", "id", taskId, "completed", true));
+
+        // One select for the referenced tasks, at most one nextval, one batched insert and one update.
+        assertThat(statementsFor(post("/task/batch")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(Map.of("operations", operations))))).isLessThanOrEqualTo(4 + REVISION_INCREMENT);
+    }
+
+    @Test
+    void updateTask_shouldIssueOneStatement() throws Exception {
+        Task retitle = new Task();
+        retitle.setId(taskId);
+        retitle.setTitle("Updated Title");
+
+        assertThat(statementsFor(put("/task")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(retitle)))).isEqualTo(1 + REVISION_INCREMENT);
+
+        // Changing the completion status gets the previous status from the same statement, for the user's counts.
+        Task complete = new Task();
+        complete.setId(taskId);
+        complete.setCompleted(true);
+
+        assertThat(statementsFor(put("/task")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(complete)))).isEqualTo(1 + REVISION_INCREMENT);
+
+        Task updated = taskRepository.findById(taskId).orElseThrow();
+        assertThat(updated.getCompleted()).isTrue();
+        assertThat(updated.getTitle()).isEqualTo("Updated Title");
+    }
+
+    @Test
+    void conditionalUpdate_whenETagMatches_shouldIssueOneStatement() throws Exception {
+        Task update = new Task();
+        update.setId(taskId);
+        update.setTitle("Updated Title");
+
+        assertThat(statementsFor(put("/task")
+                .header("If-Match", "\"0\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(update)))).isEqualTo(1 + REVISION_INCREMENT);
+        assertThat(taskRepository.findById(taskId).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void deleteTask_shouldIssueOneStatement() throws Exception {
+        assertThat(statementsFor(delete("/task").param("id", String.valueOf(taskId)))).isEqualTo(1 + REVISION_INCREMENT);
+    }
+
+    @Test
+    void completeAllTasks_shouldIssueOneStatement() throws Exception {
+        seedTasks(200);
+
+        assertThat(statementsFor(post("/task/complete"))).isEqualTo(1 + REVISION_INCREMENT);
+        assertThat(taskRepository.findViewsByUserIdAndCompletedAfter(userId, false, 0L, Limit.of(1))).isEmpty();
+    }
+
+    @Test
+    void deleteAllTasks_shouldIssueOneStatement() throws Exception {
+        seedTasks(200);
+
+        assertThat(statementsFor(delete("/task"))).isEqualTo(1 + REVISION_INCREMENT);
+        assertThat(taskRepository.findViewsByUserIdAfter(userId, 0L, Limit.of(1))).isEmpty();
+    }
+
+    @Test
+    void deleteCompletedTasks_shouldIssueOneStatement() throws Exception {
+        seedTasks(200);
+
+        assertThat(statementsFor(delete("/task").param("completed", "false"))).isEqualTo(1 + REVISION_INCREMENT);
+    }
+
+    @Test
+    void getTaskStats_whenInitialised_shouldIssueOneStatement() throws Exception {
+        statementsFor(get("/task/stats"));
+
+        assertThat(statementsFor(get("/task/stats"))).isEqualTo(1);
+    }
+
+    @Test
+    void getTaskStats_shouldFollowEveryKindOfChange() throws Exception {
+        seedTasks(4);
+        expectStats(5, 0);
+
+        Task update = new Task();
+        update.setId(taskId);
+        update.setCompleted(true);
+        statementsFor(put("/task").contentType("application/json").content(objectMapper.writeValueAsString(update)));
+        expectStats(5, 1);
+
+        statementsFor(put("/task").contentType("application/json").content(objectMapper.writeValueAsString(update)));
+        expectStats(5, 1);
+
+        statementsFor(post("/task/batch").contentType("application/json").content(objectMapper.writeValueAsString(Map.of(
+                "operations", List.of(
+                        Map.of("op", "CREATE", "title", "done", "completed", true),
+                        Map.of("op", "UPDATE", "id", taskId, "completed", false))))));
+        expectStats(6, 1);
+
+        statementsFor(post("/task/complete"));
+        expectStats(6, 6);
+
+        statementsFor(delete("/task").param("id", String.valueOf(taskId)));
+        expectStats(5, 5);
+
+        statementsFor(post("/task").contentType("application/json").content("{\"title\":\"open\"}"));
+        expectStats(6, 5);
+
+        statementsFor(delete("/task").param("completed", "true"));
+        expectStats(1, 0);
+
+        statementsFor(delete("/task"));
+        expectStats(0, 0);
+    }
+
+    @Test
+    void searchTasks_whenIndexLoaded_shouldIssueNoStatements() throws Exception {
+        statementsFor(get("/task/search").param("q", "title1"));
+
+        assertThat(statementsFor(get("/task/search").param("q", "title1"))).isZero();
+    }
+
+    @Test
+    void searchTasks_shouldFollowCreatesAndDeletes() throws Exception {
+        mockMvc.perform(get("/task/search").param("q", "groceries").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        statementsFor(post("/task").contentType("application/json").content("{\"title\":\"Buy groceries\"}"));
+        mockMvc.perform(get("/task/search").param("q", "grocer*").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Buy groceries"));
+
+        statementsFor(delete("/task"));
+        mockMvc.perform(get("/task/search").param("q", "groceries").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private void expectStats(long total, long completed) throws Exception {
+        mockMvc.perform(get("/task/stats").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(total))
+                .andExpect(jsonPath("$.open").value(total - completed))
+                .andExpect(jsonPath("$.completed").value(completed));
+    }
+
+    private void seedTasks(int count) {
+        User user = userRepository.getReferenceById(userId);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("seeded " + i);
+            task.setCompleted(false);
+            task.setUser(user);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().is2xxSuccessful());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.dto.AuthenticationRequest;
+import com.example.taskmanagement.dto.RefreshTokenRequest;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,8 +15,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +29,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @Transactional
+// Logins and registrations here all come from the same address; RateLimitFilterTest covers the limits
+@TestPropertySource(properties = "ratelimit.enabled=false")
 public class UserControllerTest {
 
     @Autowired
@@ -102,7 +108,57 @@ public class UserControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").isString())
-                .andExpect(jsonPath("$.token").isNotEmpty());
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+    }
+
+    @Test
+    void refreshAuthenticationToken_whenValidRefreshToken_shouldReturnNewTokens() throws Exception {
+        String refreshToken = loginAndGetRefreshToken();
+
+        String response = refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(response).get("refreshToken").asText()).isNotEqualTo(refreshToken);
+    }
+
+    @Test
+    void refreshAuthenticationToken_whenRefreshTokenReused_shouldRevokeItsSuccessors() throws Exception {
+        String refreshToken = loginAndGetRefreshToken();
+        String response = refresh(refreshToken).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String rotatedRefreshToken = objectMapper.readTree(response).get("refreshToken").asText();
+
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+        refresh(rotatedRefreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshAuthenticationToken_whenUnknownRefreshToken_shouldReturnUnauthorized() throws Exception {
+        refresh("unknown").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void createAuthenticationToken_whenStoredHashHasOtherCost_shouldRehashPassword() throws Exception {
+        User user = new User();
+        user.setUsername("testuser");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password"));
+        userRepository.save(user);
+
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setUsername("testuser");
+        request.setPassword("password");
+
+        mockMvc.perform(post("/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByUsername("testuser").orElseThrow().getPassword();
+        assertThat(passwordEncoder.upgradeEncoding(storedHash)).isFalse();
+        assertThat(passwordEncoder.matches("password", storedHash)).isTrue();
     }
 
     @Test
@@ -133,4 +189,30 @@ public class UserControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized());
     }
+
+    private String loginAndGetRefreshToken() throws Exception {
+        User user = new User();
+        user.setUsername("testuser");
+        user.setPassword(passwordEncoder.encode("password"));
+        userRepository.save(user);
+
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setUsername("testuser");
+        request.setPassword("password");
+
+        String response = mockMvc.perform(post("/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("refreshToken").asText();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return mockMvc.perform(post("/user/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,391 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a mix of login, list, create, update and delete requests against the task API at a
+ * fixed arrival rate and reports throughput, error rates and latency percentiles per operation.
+ *
+ * Requests are started on a schedule, not when the previous one returns, and each latency is
+ * measured from the time the request was due to start. A server that stalls therefore shows up
+ * in the percentiles as the wait it caused every request scheduled behind it (no coordinated
+ * omission), instead of as a gap in the samples.
+ *
+ * By default the application is started in this JVM against the database in .env; with
+ * {@code -Dloadtest.url=http://host:port} an already running instance is used instead.
+ * Excluded from the normal build; run with {@code mvn test -Ploadtest -Dtest=ApiLoadTest}.
+ * Options (defaults in brackets):
+ * <ul>
+ *   <li>{@code loadtest.rate} requests per second [500]</li>
+ *   <li>{@code loadtest.duration} measured run [PT30S], after {@code loadtest.warmup} [PT5S]</li>
+ *   <li>{@code loadtest.users} users the requests are spread over [50]</li>
+ *   <li>{@code loadtest.mix} operation weights [login=2,list=60,create=15,update=15,delete=8]</li>
+ *   <li>{@code loadtest.max-in-flight} requests outstanding before new ones count as errors [10000]</li>
+ *   <li>{@code loadtest.report} JSON report path [target/loadtest/api-load-test.json]</li>
+ * </ul>
+ */
+@Tag("loadtest")
+class ApiLoadTest {
+
+    private static final int TASKS_PER_USER = 20;
+
+    // Latencies are recorded in microseconds, up to a minute, with three significant digits.
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @BeforeAll
+    static void setupEnv() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+    }
+
+    @Test
+    void runMix() throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 500);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        int userCount = Integer.getInteger("loadtest.users", 50);
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 10_000);
+        Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix", "login=2,list=60,create=15,update=15,delete=8"));
+        Path reportPath = Path.of(System.getProperty("loadtest.report", "target/loadtest/api-load-test.json"));
+        String externalUrl = System.getProperty("loadtest.url");
+
+        ConfigurableApplicationContext context = null;
+        try {
+            URI baseUri;
+            if (externalUrl != null) {
+                baseUri = URI.create(externalUrl);
+            } else {
+                context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                        .properties("server.port=0", "spring.jpa.show-sql=false", "task.search.rebuild-on-startup=false",
+                                "ratelimit.enabled=false")
+                        .run();
+                baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            }
+
+            List<VirtualUser> users = new ArrayList<>();
+            for (int i = 0; i < userCount; i++) {
+                users.add(setUpUser(baseUri));
+            }
+
+            run(baseUri, users, mix, rate, warmup, maxInFlight, null);
+            Stats stats = new Stats();
+            long elapsedNanos = run(baseUri, users, mix, rate, duration, maxInFlight, stats);
+
+            Map<String, Object> report = report(stats, elapsedNanos, rate, duration, userCount, mix, baseUri);
+            Files.createDirectories(reportPath.toAbsolutePath().getParent());
+            objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+            printSummary(stats, elapsedNanos);
+            System.out.println("Report written to " + reportPath.toAbsolutePath());
+
+            assertTrue(stats.total.getTotalCount() > 0, "no request completed");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            client.close();
+        }
+    }
+
+    /**
+     * Starts requests at the given rate until the duration has passed, then waits for them to finish.
+     *
+     * @param stats Where to record the results, or null to discard them (warm-up).
+     * @return the time from the first scheduled start until the last request finished.
+     */
+    private long run(URI baseUri, List<VirtualUser> users, Map<Operation, Integer> mix, int rate,
+                     Duration duration, int maxInFlight, Stats stats) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = duration.toNanos() / intervalNanos;
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long intendedStart = start + i * intervalNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Operation operation = pick(mix, totalWeight, random.nextInt(totalWeight));
+                VirtualUser user = users.get(random.nextInt(users.size()));
+                if (!inFlight.tryAcquire()) {
+                    // The server is too far behind to keep up; the request is counted as failed, not silently skipped.
+                    if (stats != null) {
+                        stats.recordError(operation);
+                    }
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        Operation executed = execute(baseUri, user, operation);
+                        if (stats != null) {
+                            stats.recordLatency(executed, (System.nanoTime() - intendedStart) / 1_000);
+                        }
+                    } catch (Exception e) {
+                        if (stats != null) {
+                            stats.recordError(operation);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Sends one request of the operation for the user.
+     *
+     * @return the operation actually performed; update and delete fall back to list when the user has no tasks.
+     * @throws IllegalStateException if the response status is not the expected one.
+     */
+    private Operation execute(URI baseUri, VirtualUser user, Operation operation) throws Exception {
+        switch (operation) {
+            case LOGIN -> {
+                HttpResponse<String> response = send(post(baseUri.resolve("/user/login"), user.credentials, null));
+                user.token = objectMapper.readTree(response.body()).get("token").asText();
+            }
+            case LIST -> send(get(baseUri.resolve("/task"), user.token));
+            case CREATE -> {
+                HttpResponse<String> response = send(post(baseUri.resolve("/task"),
+                        "{\"title\":\"load test task\",\"description\":\"created under load\"}", user.token), 201);
+                user.taskIds.addLast(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+            case UPDATE -> {
+                Long taskId = user.taskIds.peekLast();
+                if (taskId == null) {
+                    return execute(baseUri, user, Operation.LIST);
+                }
+                send(put(baseUri.resolve("/task"), "{\"id\":" + taskId + ",\"title\":\"updated under load\"}", user.token),
+                        200, 404);
+            }
+            case DELETE -> {
+                Long taskId = user.taskIds.pollFirst();
+                if (taskId == null) {
+                    return execute(baseUri, user, Operation.LIST);
+                }
+                send(HttpRequest.newBuilder(baseUri.resolve("/task?id=" + taskId))
+                        .header("Authorization", "Bearer " + user.token).DELETE().build(), 204, 404);
+            }
+        }
+        return operation;
+    }
+
+    private HttpResponse<String> send(HttpRequest request, int... expectedStatuses) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        int[] expected = expectedStatuses.length == 0 ? new int[]{200} : expectedStatuses;
+        for (int status : expected) {
+            if (response.statusCode() == status) {
+                return response;
+            }
+        }
+        throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+    }
+
+    /**
+     * Registers a user with some tasks and logs in.
+     */
+    private VirtualUser setUpUser(URI baseUri) throws Exception {
+        VirtualUser user = new VirtualUser(objectMapper.writeValueAsString(
+                Map.of("username", "loadtest-" + UUID.randomUUID(), "password", "password")));
+        send(post(baseUri.resolve("/user/register"), user.credentials, null));
+        execute(baseUri, user, Operation.LOGIN);
+        for (int i = 0; i < TASKS_PER_USER; i++) {
+            execute(baseUri, user, Operation.CREATE);
+        }
+        return user;
+    }
+
+    private static HttpRequest get(URI uri, String token) {
+        return HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private static HttpRequest post(URI uri, String json, String token) {
+        return withBody(HttpRequest.newBuilder(uri), token).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static HttpRequest put(URI uri, String json, String token) {
+        return withBody(HttpRequest.newBuilder(uri), token).PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static HttpRequest.Builder withBody(HttpRequest.Builder request, String token) {
+        request.header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int totalWeight, int ticket) {
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            ticket -= weight.getValue();
+            if (ticket < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Mix has a total weight of " + totalWeight);
+    }
+
+    private Map<String, Object> report(Stats stats, long elapsedNanos, int rate, Duration duration, int users,
+                                       Map<Operation, Integer> mix, URI baseUri) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("baseUrl", baseUri.toString());
+        config.put("targetRatePerSecond", rate);
+        config.put("duration", duration.toString());
+        config.put("users", users);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.key(), weight));
+        config.put("mix", weights);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            operations.put(operation.key(), summary(stats.latencies.get(operation), stats.errors.get(operation).sum(), elapsedNanos));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("total", summary(stats.total, stats.totalErrors(), elapsedNanos));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> summary(Histogram latencies, long errors, long elapsedNanos) {
+        long requests = latencies.getTotalCount() + errors;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+        summary.put("throughputPerSecond", latencies.getTotalCount() / (elapsedNanos / 1e9));
+        summary.put("p50Ms", millis(latencies.getValueAtPercentile(50)));
+        summary.put("p95Ms", millis(latencies.getValueAtPercentile(95)));
+        summary.put("p99Ms", millis(latencies.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(latencies.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(latencies.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static void printSummary(Stats stats, long elapsedNanos) {
+        System.out.printf("%-8s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            printRow(operation.key(), stats.latencies.get(operation), stats.errors.get(operation).sum(), elapsedNanos);
+        }
+        printRow("total", stats.total, stats.totalErrors(), elapsedNanos);
+    }
+
+    private static void printRow(String name, Histogram latencies, long errors, long elapsedNanos) {
+        System.out.printf("%-8s %9d %8d %10.0f %9.1f %9.1f %9.1f %9.1f %9.1f%n", name,
+                latencies.getTotalCount() + errors, errors, latencies.getTotalCount() / (elapsedNanos / 1e9),
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(95)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private enum Operation {
+        LOGIN, LIST, CREATE, UPDATE, DELETE;
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final class VirtualUser {
+
+        final String credentials;
+        final ConcurrentLinkedDeque<Long> taskIds = new ConcurrentLinkedDeque<>();
+        volatile String token;
+
+        VirtualUser(String credentials) {
+            this.credentials = credentials;
+        }
+    }
+
+    /**
+     * Successful request latencies in microseconds, and error counts, per operation.
+     */
+    private static final class Stats {
+
+        final Map<Operation, Histogram> latencies = new LinkedHashMap<>();
+        final Map<Operation, LongAdder> errors = new LinkedHashMap<>();
+        final Histogram total = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+
+        Stats() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+                errors.put(operation, new LongAdder());
+            }
+        }
+
+        void recordLatency(Operation operation, long micros) {
+            long clamped = Math.min(micros, MAX_LATENCY_MICROS);
+            latencies.get(operation).recordValue(clamped);
+            total.recordValue(clamped);
+        }
+
+        void recordError(Operation operation) {
+            errors.get(operation).increment();
+        }
+
+        long totalErrors() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.User;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository queries the endpoints depend on against a seeded database and checks,
+ * with EXPLAIN, that none of them scans a whole table.
+ *
+ * The test migrates its own schema from scratch, so it also checks the migrations produce
+ * a schema Hibernate accepts. The SQL checked is the SQL Hibernate actually sends, recorded
+ * while each repository method runs in a rolled-back transaction, and is planned as a generic
+ * plan so the result holds for any parameter values.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.schema=" + QueryPlanTest.SCHEMA,
+        "spring.flyway.schemas=" + QueryPlanTest.SCHEMA,
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.taskmanagement.repository.QueryPlanTest$RecordingStatementInspector",
+        // Cached results would skip the statements under test.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "task.search.rebuild-on-startup=false"
+})
+class QueryPlanTest {
+
+    static final String SCHEMA = "query_plan_test";
+
+    private static final int USERS = 1000;
+    private static final int TASKS_PER_USER = 100;
+
+    private static boolean seeded;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTaskStateRepository userTaskStateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+    private User user;
+    private List<Long> taskIds;
+
+    @BeforeAll
+    static void setupEnv() throws Exception {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+
+        // Start from an empty schema, so every migration runs.
+        try (Connection connection = DriverManager.getConnection(
+                dotenv.get("DB_URL"), dotenv.get("DB_USERNAME"), dotenv.get("DB_PASSWORD"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (!seeded) {
+            jdbcTemplate.update("insert into app_users (username, password) "
+                    + "select 'planuser' || n, 'password' from generate_series(1, ?) n", USERS);
+            jdbcTemplate.update("insert into tasks (id, title, description, completed, version, user_id) "
+                    + "select nextval('tasks_seq'), 'task ' || n, 'description ' || n, n % 3 = 0, 0, u.id "
+                    + "from app_users u cross join generate_series(1, ?) n", TASKS_PER_USER);
+            jdbcTemplate.update("insert into user_task_state (user_id, revision, task_count, completed_count) "
+                    + "select id, 0, ?, ? from app_users", TASKS_PER_USER, TASKS_PER_USER / 3);
+            jdbcTemplate.execute("analyze");
+            seeded = true;
+        }
+        userId = jdbcTemplate.queryForObject("select id from app_users where username = 'planuser500'", Long.class);
+        user = userRepository.getReferenceById(userId);
+        taskIds = jdbcTemplate.queryForList("select id from tasks where user_id = ? order by id limit 3", Long.class, userId);
+    }
+
+    @Test
+    void findByUsername_shouldUseIndex() {
+        assertNoSequentialScans(() -> userRepository.findByUsername("planuser500"));
+    }
+
+    @Test
+    void taskPages_shouldUseIndex() {
+        assertNoSequentialScans(() -> taskRepository.findViewsByUserIdAfter(userId, 0L, Limit.of(100)));
+        assertNoSequentialScans(() -> taskRepository.findViewsByUserIdAndCompletedAfter(userId, true, 0L, Limit.of(100)));
+    }
+
+    @Test
+    void singleTaskQueries_shouldUseIndex() {
+        Long taskId = taskIds.get(0);
+        assertNoSequentialScans(() -> taskRepository.findById(taskId));
+        assertNoSequentialScans(() -> taskRepository.existsByIdAndUser(taskId, user));
+        assertNoSequentialScans(() -> taskRepository.updatePartially(taskId, userId, "title", null, true, 0L));
+        assertNoSequentialScans(() -> taskRepository.deleteReturningCompleted(taskId, userId, null));
+    }
+
+    @Test
+    void bulkTaskQueries_shouldUseIndex() {
+        assertNoSequentialScans(() -> taskRepository.findByUserAndIdIn(user, taskIds));
+        assertNoSequentialScans(() -> taskRepository.completeAllByUser(user));
+        assertNoSequentialScans(() -> taskRepository.completeByUserAndIdIn(user, taskIds));
+        assertNoSequentialScans(() -> taskRepository.deleteAllByUserId(userId));
+        assertNoSequentialScans(() -> taskRepository.deleteByUserIdAndIdIn(userId, taskIds));
+        assertNoSequentialScans(() -> taskRepository.deleteByUserAndCompleted(user, true));
+        assertNoSequentialScans(() -> taskRepository.streamByUser(user).close());
+    }
+
+    @Test
+    void userTaskStateQueries_shouldUseIndex() {
+        assertNoSequentialScans(() -> userTaskStateRepository.findRevisionByUserId(userId));
+        assertNoSequentialScans(() -> userTaskStateRepository.findById(userId));
+        assertNoSequentialScans(() -> userTaskStateRepository.recordChange(userId, 1, 0));
+        assertNoSequentialScans(() -> userTaskStateRepository.lockByUserId(userId));
+        assertNoSequentialScans(() -> userTaskStateRepository.recountTasks(List.of(userId)));
+    }
+
+    /**
+     * Runs the repository call in a transaction that is rolled back, then asserts that the
+     * generic plan of every statement it sent avoids sequential scans.
+     */
+    private void assertNoSequentialScans(Runnable repositoryCall) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            repositoryCall.run();
+            status.setRollbackOnly();
+        });
+
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), "no statement was sent");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains("Seq Scan"), () -> "sequential scan in plan of\n" + sql + "\n" + plan);
+            assertTrue(plan.contains("Index"), () -> "no index used in plan of\n" + sql + "\n" + plan);
+        }
+    }
+
+    /**
+     * Returns the generic plan of the statement. Parameters are left unbound, which the extended
+     * query protocol does not allow, so the statement is sent over a connection using the simple protocol.
+     */
+    private static String explain(String sql) {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getProperty("DB_USERNAME"));
+        properties.setProperty("password", System.getProperty("DB_PASSWORD"));
+        properties.setProperty("preferQueryMode", "simple");
+        properties.setProperty("currentSchema", SCHEMA);
+        try (Connection connection = DriverManager.getConnection(System.getProperty("DB_URL"), properties);
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("explain (generic_plan) " + numberParameters(sql))) {
+            StringBuilder lines = new StringBuilder();
+            while (plan.next()) {
+                lines.append(plan.getString(1)).append('\n');
+            }
+            return lines.toString();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not explain " + sql, e);
+        }
+    }
+
+    /**
+     * Rewrites JDBC placeholders as the numbered parameters EXPLAIN (GENERIC_PLAN) expects.
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    // Stub-only, so the detach calls made while loading 100k tasks are not recorded.
+    @Mock(stubOnly = true)
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // The tasks the mocked repository returns, per user.
+    private final Map<Long, List<Task>> tasksByUser = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            com.example.taskmanagement.model.User user = new com.example.taskmanagement.model.User();
+            user.setId(invocation.getArgument(0));
+            return user;
+        });
+        lenient().when(taskRepository.streamByUser(any())).thenAnswer(invocation -> {
+            com.example.taskmanagement.model.User user = invocation.getArgument(0);
+            return tasksByUser.getOrDefault(user.getId(), List.of()).stream();
+        });
+    }
+
+    private TaskSearchIndex newIndex(long maxMemoryMb) {
+        return new TaskSearchIndex(taskRepository, userRepository, entityManager, transactionManager, maxMemoryMb, false);
+    }
+
+    private static Task task(long id, String title, String description, boolean completed) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setCompleted(completed);
+        task.setVersion(0L);
+        return task;
+    }
+
+    private static List<Long> ids(List<TaskSearchHit> hits) {
+        return hits.stream().map(TaskSearchHit::getId).toList();
+    }
+
+    @Test
+    void tokenize_shouldLowerCaseAndSplitOnNonAlphanumerics() {
+        assertEquals(List.of("fix", "login", "bug", "42", "état"), TaskTokenizer.tokenize("Fix LOGIN-bug #42, état"));
+    }
+
+    @Test
+    void parse_shouldMarkOnlyTheLastTokenOfAStarredWordAsPrefix() {
+        TaskQuery query = TaskQuery.parse("quarterly follow-up*");
+
+        assertEquals(List.of(new TaskQuery.Term("quarterly", false), new TaskQuery.Term("follow", false),
+                new TaskQuery.Term("up", true)), query.terms());
+    }
+
+    @Test
+    void search_shouldRankTitleMatchesAboveDescriptionMatches() {
+        tasksByUser.put(1L, List.of(
+                task(1, "Buy groceries", "milk and report paper", false),
+                task(2, "Write report", "quarterly numbers", false),
+                task(3, "Call mom", null, false)));
+        TaskSearchIndex index = newIndex(256);
+
+        assertEquals(List.of(2L, 1L), ids(index.search(1L, TaskQuery.parse("report"), null, 10)));
+    }
+
+    @Test
+    void search_shouldRequireEveryTermAndSupportPrefixes() {
+        tasksByUser.put(1L, List.of(
+                task(1, "Repair bike", "rear wheel", false),
+                task(2, "Report bug", "login page", false),
+                task(3, "Bike shopping", null, false)));
+        TaskSearchIndex index = newIndex(256);
+
+        assertEquals(List.of(1L), ids(index.search(1L, TaskQuery.parse("bike rep*"), null, 10)));
+        assertEquals(2, index.search(1L, TaskQuery.parse("re*"), null, 10).size());
+        assertTrue(index.search(1L, TaskQuery.parse("bike car"), null, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldFilterByCompletionStatusAndHonourLimit() {
+        tasksByUser.put(1L, List.of(
+                task(1, "report one", null, true),
+                task(2, "report two", null, false),
+                task(3, "report three", null, false)));
+        TaskSearchIndex index = newIndex(256);
+
+        assertEquals(List.of(1L), ids(index.search(1L, TaskQuery.parse("report"), true, 10)));
+        assertEquals(1, index.search(1L, TaskQuery.parse("report"), false, 1).size());
+    }
+
+    @Test
+    void search_shouldOnlySeeTheSearchingUsersTasks() {
+        tasksByUser.put(1L, List.of(task(1, "secret plan", null, false)));
+        tasksByUser.put(2L, List.of(task(2, "public plan", null, false)));
+        TaskSearchIndex index = newIndex(256);
+
+        assertEquals(List.of(2L), ids(index.search(2L, TaskQuery.parse("plan"), null, 10)));
+    }
+
+    @Test
+    void changes_shouldBeVisibleWithoutReloading() {
+        tasksByUser.put(1L, new ArrayList<>(List.of(task(1, "old title", null, false))));
+        TaskSearchIndex index = newIndex(256);
+        index.search(1L, TaskQuery.parse("old"), null, 10);
+
+        Task renamed = task(1, "new title", null, false);
+        renamed.setVersion(1L);
+        index.indexTask(1L, renamed);
+        index.indexTask(1L, task(2, "another new one", null, false));
+        index.completeTasks(1L, List.of(2L));
+
+        assertTrue(index.search(1L, TaskQuery.parse("old"), null, 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search(1L, TaskQuery.parse("new"), false, 10)));
+        assertEquals(List.of(2L), ids(index.search(1L, TaskQuery.parse("new"), true, 10)));
+
+        index.removeTasks(1L, List.of(1L));
+        index.removeTasksByCompletionStatus(1L, true);
+        assertTrue(index.search(1L, TaskQuery.parse("new"), null, 10).isEmpty());
+        verify(taskRepository, times(1)).streamByUser(any());
+    }
+
+    @Test
+    void indexTask_whenOlderVersionArrivesLate_shouldKeepNewerText() {
+        tasksByUser.put(1L, List.of());
+        TaskSearchIndex index = newIndex(256);
+        index.search(1L, TaskQuery.parse("anything"), null, 10);
+
+        Task newer = task(1, "newer", null, false);
+        newer.setVersion(2L);
+        Task older = task(1, "older", null, false);
+        older.setVersion(1L);
+        index.indexTask(1L, newer);
+        index.indexTask(1L, older);
+
+        assertEquals(List.of(1L), ids(index.search(1L, TaskQuery.parse("newer"), null, 10)));
+        assertTrue(index.search(1L, TaskQuery.parse("older"), null, 10).isEmpty());
+    }
+
+    @Test
+    void search_whenOverMemoryBudget_shouldDropLeastRecentlyUsedIndexAndReloadIt() {
+        tasksByUser.put(1L, List.of(task(1, "first user task", null, false)));
+        tasksByUser.put(2L, List.of(task(2, "second user task", null, false)));
+        // A zero budget keeps only the most recently loaded index.
+        TaskSearchIndex index = newIndex(0);
+
+        index.search(1L, TaskQuery.parse("task"), null, 10);
+        index.search(2L, TaskQuery.parse("task"), null, 10);
+        assertEquals(1, index.getIndexedUsers());
+        assertEquals(1, index.getEvictions());
+
+        assertEquals(List.of(1L), ids(index.search(1L, TaskQuery.parse("task"), null, 10)));
+        assertEquals(3, index.getLoads());
+    }
+
+    @Test
+    void search_overHundredThousandTasks_shouldTakeLessThanOneMillisecond() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[5000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "word" + i;
+        }
+        List<Task> tasks = new ArrayList<>(100_000);
+        for (long id = 1; id <= 100_000; id++) {
+            StringBuilder title = new StringBuilder();
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 4; w++) {
+                title.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            for (int w = 0; w < 12; w++) {
+                description.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            tasks.add(task(id, title.toString(), description.toString(), random.nextBoolean()));
+        }
+        tasksByUser.put(1L, tasks);
+        TaskSearchIndex index = newIndex(1024);
+        List<TaskQuery> queries = List.of(TaskQuery.parse("word17"), TaskQuery.parse("word42 word4242"),
+                TaskQuery.parse("word123*"), TaskQuery.parse("word7 word8"));
+        index.search(1L, queries.get(0), null, 20);
+
+        // Warm up, then measure.
+        for (int i = 0; i < 2000; i++) {
+            index.search(1L, queries.get(i % queries.size()), null, 20);
+        }
+        int runs = 4000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            index.search(1L, queries.get(i % queries.size()), null, 20);
+        }
+        long averageNanos = (System.nanoTime() - start) / runs;
+
+        assertEquals(100_000, index.getIndexedTasks());
+        assertTrue(averageNanos < 1_000_000, "average search took " + averageNanos + "ns");
+    }
+}
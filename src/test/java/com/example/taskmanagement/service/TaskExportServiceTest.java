@@ -0,0 +1,153 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a large synthetic task list from the database in .env, and watches the persistence
+ * context while the export is being written: it must stay at a handful of entities however many
+ * tasks are exported, because each task is detached once written.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "task.search.rebuild-on-startup=false",
+        // On, so the test shows the export does not fill it.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true"
+})
+public class TaskExportServiceTest {
+
+    private static final int ROWS = 200_000;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeAll
+    static void setupEnv() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("export-" + UUID.randomUUID(), "password"));
+        jdbcTemplate.update("insert into tasks (id, title, description, completed, version, user_id) "
+                + "select nextval('tasks_seq'), 'title' || n, "
+                + "'A synthetic description used to give each exported row a realistic size.', n % 2 = 0, 0, ? "
+                + "from generate_series(1, ?) n", user.getId(), ROWS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks where user_id = ?", user.getId());
+        userRepository.delete(user);
+    }
+
+    @Test
+    void exportTasks_shouldWriteOneJsonObjectPerLineInIdOrder() throws Exception {
+        // Arrange
+        ProbingOutputStream out = new ProbingOutputStream();
+
+        // Act
+        long count = taskExportService.exportTasks(user.getId(), out);
+
+        // Assert
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(out.newlines).isEqualTo(ROWS);
+        String firstLine = out.head.toString(StandardCharsets.UTF_8).split("\n")[0];
+        assertThat(firstLine).startsWith("{").endsWith("}").contains("\"title\":\"title1\"");
+    }
+
+    @Test
+    void exportTasks_whenLargeDataset_shouldKeepPersistenceContextBounded() throws Exception {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ProbingOutputStream out = new ProbingOutputStream();
+
+        // Act
+        long count = taskExportService.exportTasks(user.getId(), out);
+
+        // Assert
+        assertThat(count).isEqualTo(ROWS);
+        // Sampled every time the writer flushes, inside the export's transaction: only the task being
+        // written (and at most its user) is managed, and nothing accumulates as the export goes on.
+        assertThat(out.probes).isGreaterThan(1000);
+        assertThat(out.maxManagedEntities).isLessThanOrEqualTo(2);
+        // One streamed query loaded every task, and the export bypassed the second-level cache.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(ROWS);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    /**
+     * Counts lines and keeps the first few kilobytes, and on each write samples how many entities
+     * the export's persistence context holds.
+     */
+    private class ProbingOutputStream extends OutputStream {
+        private static final int HEAD_BYTES = 4096;
+
+        private final ByteArrayOutputStream head = new ByteArrayOutputStream();
+        private long newlines;
+        private long probes;
+        private int maxManagedEntities;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (head.size() < HEAD_BYTES) {
+                head.write(b, off, Math.min(len, HEAD_BYTES - head.size()));
+            }
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    newlines++;
+                }
+            }
+            probes++;
+            maxManagedEntities = Math.max(maxManagedEntities,
+                    entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+    }
+}
@@ -1,21 +1,43 @@
 package com.example.taskmanagement.service;
 
 import com.example.taskmanagement.dto.TaskCreationRequest;
+import com.example.taskmanagement.dto.TaskPage;
+import com.example.taskmanagement.dto.TaskStats;
+import com.example.taskmanagement.dto.TaskView;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.model.UserTaskState;
 import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskRepository.UpdatedTask;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.repository.UserTaskStateRepository;
+import com.example.taskmanagement.search.TaskSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +49,18 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserTaskStateRepository userTaskStateRepository;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TaskService taskService;
 
@@ -48,11 +82,11 @@ class TaskServiceTest {
         savedTask.setCompleted(false);
         savedTask.setUser(mockUser);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
+        when(userRepository.getReferenceById(1L)).thenReturn(mockUser);
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
 
         // Act
-        Task result = taskService.createTask(request, "testuser");
+        Task result = taskService.createTask(request, 1L);
 
         // Assert
         assertEquals(savedTask.getTitle(), result.getTitle());
@@ -64,29 +98,25 @@ class TaskServiceTest {
     @Test
     void updateTask_shouldUpdateSavedTask() {
         // Arrange
-        User mockUser = new User();
-        mockUser.setId(1L);
-        mockUser.setUsername("testuser");
-
-        Task existingTask = new Task();
-        existingTask.setId(1L);
-        existingTask.setTitle("Old Title");
-        existingTask.setDescription("Old Description");
-        existingTask.setCompleted(false);
-        existingTask.setUser(mockUser);
-
         Task updateDetails = new Task();
         updateDetails.setId(1L);
         updateDetails.setTitle("Updated Title");
         updateDetails.setDescription("Updated Description");
         updateDetails.setCompleted(true);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
-        when(taskRepository.findByIdAndUser(1L, mockUser)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UpdatedTask updatedTask = mock(UpdatedTask.class);
+        when(updatedTask.getPreviousCompleted()).thenReturn(false);
+        when(updatedTask.getId()).thenReturn(1L);
+        when(updatedTask.getTitle()).thenReturn("Updated Title");
+        when(updatedTask.getDescription()).thenReturn("Updated Description");
+        when(updatedTask.getCompleted()).thenReturn(true);
+        when(updatedTask.getVersion()).thenReturn(1L);
+
+        when(taskRepository.updatePartially(1L, 1L, "Updated Title", "Updated Description", true, null))
+                .thenReturn(Optional.of(updatedTask));
 
         // Act
-        Optional<Task> resultOpt = taskService.updateTask(updateDetails, "testuser");
+        Optional<Task> resultOpt = taskService.updateTask(updateDetails, 1L, null);
 
         // Assert
         assertTrue(resultOpt.isPresent());
@@ -94,6 +124,99 @@ class TaskServiceTest {
         assertEquals(updateDetails.getTitle(), savedTask.getTitle());
         assertEquals(updateDetails.getDescription(), savedTask.getDescription());
         assertEquals(true, savedTask.getCompleted());
-        assertEquals(existingTask.getId(), savedTask.getId());
+        assertEquals(updateDetails.getId(), savedTask.getId());
+        assertEquals(1L, savedTask.getVersion());
+        verify(userTaskStateRepository).recordChange(1L, 0, 1);
+        verify(entityManagerFactory.getCache()).evict(Task.class, updateDetails.getId());
+    }
+
+    @Test
+    void deleteTask_whenNoRowDeleted_shouldReturnFalse() {
+        // Arrange
+        when(taskRepository.deleteReturningCompleted(99L, 1L, null)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(taskService.deleteTask(99L, 1L, null));
+        verify(userTaskStateRepository, never()).recordChange(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void deleteTask_whenCompletedTaskDeleted_shouldDecrementBothCounts() {
+        // Arrange
+        when(taskRepository.deleteReturningCompleted(5L, 1L, null)).thenReturn(Optional.of(true));
+
+        // Act & Assert
+        assertTrue(taskService.deleteTask(5L, 1L, null));
+        verify(userTaskStateRepository).recordChange(1L, -1, -1);
+        verify(taskSearchIndex).removeTasks(1L, List.of(5L));
+    }
+
+    @Test
+    void getTaskStats_whenCountsInitialised_shouldNotRecount() {
+        // Arrange
+        UserTaskState state = new UserTaskState();
+        state.setUserId(1L);
+        state.setRevision(3L);
+        state.setTaskCount(10L);
+        state.setCompletedCount(4L);
+        when(userTaskStateRepository.findById(1L)).thenReturn(Optional.of(state));
+
+        // Act
+        TaskStats stats = taskService.getTaskStats(1L);
+
+        // Assert
+        assertEquals(10, stats.getTotal());
+        assertEquals(6, stats.getOpen());
+        assertEquals(4, stats.getCompleted());
+        verify(userTaskStateRepository, never()).recountTasks(any());
+    }
+
+    @Test
+    void getTasks_whenMoreRowsThanLimit_shouldReturnNextAfterId() {
+        // Arrange
+        List<TaskView> rows = LongStream.rangeClosed(11, 13)
+                .mapToObj(id -> new TaskView(id, "title" + id, null, false, 0L))
+                .collect(Collectors.toList());
+
+        when(taskRepository.findViewsByUserIdAfter(1L, 10L, Limit.of(3))).thenReturn(rows);
+
+        // Act
+        TaskPage page = taskService.getTasks(1L, null, 10L, 2);
+
+        // Assert
+        assertEquals(2, page.getTasks().size());
+        assertEquals(12L, page.getNextAfterId());
+        assertEquals(2.0, meterRegistry.get("task.list.rows").tag("filter", "all").summary().totalAmount());
+    }
+
+    @Test
+    void getTasks_whenLastPage_shouldHaveNoNextAfterId() {
+        // Arrange
+        when(taskRepository.findViewsByUserIdAndCompletedAfter(eq(1L), eq(true), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new TaskView(1L, "title1", null, true, 0L)));
+
+        // Act
+        TaskPage page = taskService.getTasks(1L, true, null, null);
+
+        // Assert
+        assertEquals(1, page.getTasks().size());
+        assertNull(page.getNextAfterId());
+    }
+
+    @Test
+    void updateTask_whenVersionChanged_shouldThrowOptimisticLockingFailure() {
+        // Arrange
+        User mockUser = new User();
+        mockUser.setId(1L);
+        Task updateDetails = new Task();
+        updateDetails.setId(1L);
+        updateDetails.setTitle("Updated Title");
+
+        when(taskRepository.updatePartially(1L, 1L, "Updated Title", null, null, 2L)).thenReturn(Optional.empty());
+        when(userRepository.getReferenceById(1L)).thenReturn(mockUser);
+        when(taskRepository.existsByIdAndUser(1L, mockUser)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.updateTask(updateDetails, 1L, 2L));
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.model.UserTaskState;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.repository.UserTaskStateRepository;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TaskStatsReconcilerTest {
+
+    @Autowired
+    private TaskStatsReconciler reconciler;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserTaskStateRepository userTaskStateRepository;
+
+    private Long userId;
+
+    @BeforeAll
+    static void setupEnv() {
+        Dotenv dotenv = Dotenv.load();
+        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        System.setProperty("DB_URL", dotenv.get("DB_URL"));
+        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
+        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("reconcileruser", "password"));
+        userId = user.getId();
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTitle("task " + i);
+            task.setCompleted(i == 0);
+            task.setUser(user);
+            taskRepository.save(task);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("reconcileruser").ifPresent(userRepository::delete);
+        userTaskStateRepository.deleteById(userId);
+    }
+
+    @Test
+    void reconcile_whenCountsDrifted_shouldRepairThem() {
+        // Arrange
+        UserTaskState state = new UserTaskState();
+        state.setUserId(userId);
+        state.setRevision(1L);
+        state.setTaskCount(7L);
+        state.setCompletedCount(7L);
+        userTaskStateRepository.save(state);
+
+        // Act
+        int repaired = reconciler.reconcile();
+
+        // Assert
+        assertTrue(repaired >= 1);
+        assertEquals(3, taskService.getTaskStats(userId).getTotal());
+        assertEquals(1, taskService.getTaskStats(userId).getCompleted());
+    }
+
+    @Test
+    void getTaskStats_whenNeverInitialised_shouldCountExistingTasks() {
+        // Act & Assert
+        assertEquals(3, taskService.getTaskStats(userId).getTotal());
+        assertEquals(2, taskService.getTaskStats(userId).getOpen());
+    }
+}
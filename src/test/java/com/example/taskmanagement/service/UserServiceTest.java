@@ -1,8 +1,10 @@
 package com.example.taskmanagement.service;
 
 import com.example.taskmanagement.model.User;
+import java.util.ArrayList;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -82,5 +84,29 @@ public class UserServiceTest {
         assertNotNull(userDetails.getAuthorities());
         assertEquals(0, userDetails.getAuthorities().size());
     }
-}
 
+    @Test
+    void register_WhenUsernameTaken_ShouldReturnFalse() {
+        // Arrange
+        Mockito.when(userRepository.insertIfAbsent("newuser", "hash")).thenReturn(1);
+        Mockito.when(userRepository.insertIfAbsent("takenuser", "hash")).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(userService.register("newuser", "hash"));
+        assertFalse(userService.register("takenuser", "hash"));
+    }
+
+    @Test
+    void updatePassword_ShouldSaveNewHashAndReturnUpdatedUser() {
+        // Arrange
+        AuthenticatedUser user = new AuthenticatedUser(7L, "testuser", "oldHash", new ArrayList<>());
+
+        // Act
+        UserDetails updated = userService.updatePassword(user, "newHash");
+
+        // Assert
+        assertEquals("newHash", updated.getPassword());
+        assertEquals(7L, ((AuthenticatedUser) updated).getId());
+        Mockito.verify(userRepository, Mockito.times(1)).updatePassword(7L, "newHash");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.taskmanagement.sql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlTracingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+    }
+
+    @Test
+    void execute_whenSlow_shouldLogCallerAndRedactedParameters(CapturedOutput output) throws Exception {
+        // Arrange
+        SqlTracer tracer = new SqlTracer(Duration.ZERO, 0, true, 500, 100);
+        DataSource dataSource = new SqlTracingDataSource(target, tracer);
+
+        // Act
+        try (Connection traced = dataSource.getConnection()) {
+            PreparedStatement statement = traced.prepareStatement("select * from tasks where user_id = ? and title = ?");
+            statement.setLong(1, 42L);
+            statement.setString(2, "secret title");
+            statement.executeQuery();
+        }
+
+        // Assert
+        verify(preparedStatement).setString(2, "secret title");
+        verify(preparedStatement).executeQuery();
+        assertEquals(1, tracer.getStatements());
+        assertEquals(1, tracer.getSlowStatements());
+        assertThat(output.getOut())
+                .contains("in SqlTracingDataSourceTest.execute_whenSlow_shouldLogCallerAndRedactedParameters")
+                .contains("select * from tasks where user_id = ? and title = ? [42, <redacted>]")
+                .doesNotContain("secret title");
+    }
+
+    @Test
+    void execute_whenFast_shouldOnlyLogSampledStatements(CapturedOutput output) throws Exception {
+        // Arrange
+        SqlTracer tracer = new SqlTracer(Duration.ofHours(1), 1.0, true, 500, 100);
+        DataSource dataSource = new SqlTracingDataSource(target, tracer);
+
+        // Act
+        try (Connection traced = dataSource.getConnection()) {
+            traced.createStatement().execute("select 1");
+        }
+        tracer.destroy();
+
+        // Assert
+        assertEquals(0, tracer.getSlowStatements());
+        assertEquals(1, tracer.getSampledStatements());
+        assertThat(output.getOut()).contains("sql.sample").contains("select 1");
+    }
+
+    @Test
+    void statementStats_shouldAggregateStatementsByShape() throws Exception {
+        // Arrange
+        SqlTracer tracer = new SqlTracer(Duration.ofHours(1), 0, true, 500, 100);
+        DataSource dataSource = new SqlTracingDataSource(target, tracer);
+
+        // Act
+        try (Connection traced = dataSource.getConnection()) {
+            traced.prepareStatement("select * from tasks where id in (?, ?)").executeQuery();
+            traced.prepareStatement("select * from tasks where id in (?, ?, ?)").executeQuery();
+            traced.createStatement().execute("select * from tasks where id in (7)");
+        }
+
+        // Assert
+        List<StatementStats> stats = tracer.statementStats();
+        assertEquals(2, stats.size());
+        assertThat(stats).anySatisfy(shape -> {
+            assertEquals("select * from tasks where id in (?, ...)", shape.shape());
+            assertEquals(2, shape.count());
+        });
+        assertThat(stats).anySatisfy(shape -> assertEquals("select * from tasks where id in (?)", shape.shape()));
+    }
+
+    @Test
+    void statementStats_whenTooManyShapes_shouldGroupTheRest() throws Exception {
+        // Arrange
+        SqlTracer tracer = new SqlTracer(Duration.ofHours(1), 0, true, 2, 100);
+        DataSource dataSource = new SqlTracingDataSource(target, tracer);
+
+        // Act
+        try (Connection traced = dataSource.getConnection()) {
+            for (String table : List.of("tasks", "app_users", "refresh_tokens", "user_task_state")) {
+                traced.createStatement().execute("select * from " + table);
+            }
+        }
+
+        // Assert
+        assertEquals(3, tracer.getStatementShapes());
+        assertThat(tracer.statementStats()).anySatisfy(shape -> {
+            assertEquals(SqlTracer.OTHER_SHAPES, shape.shape());
+            assertEquals(2, shape.count());
+        });
+    }
+}
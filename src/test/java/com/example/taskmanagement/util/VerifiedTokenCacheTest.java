@@ -0,0 +1,101 @@
+package com.example.taskmanagement.util;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class VerifiedTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        String secret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        jwtUtil = spy(new JwtUtil(secret));
+    }
+
+    @Test
+    void verify_whenSameTokenRepeated_shouldParseOnlyOnce() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100);
+        String token = jwtUtil.generateToken(new User("testuser", "password", new ArrayList<>()));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("testuser", cache.verify(token).getUsername());
+        }
+
+        verify(jwtUtil, times(1)).parseAndVerify(token);
+        assertEquals(4, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void verify_whenTokenTampered_shouldThrowAndCountFailure() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100);
+        String token = jwtUtil.generateToken(new User("testuser", "password", new ArrayList<>()));
+
+        assertThrows(JwtException.class, () -> cache.verify(token + "x"));
+        assertEquals(1, cache.getFailures());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void bindTo_shouldCountFailuresByReason() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        String token = jwtUtil.generateToken(new User("testuser", "password", new ArrayList<>()));
+
+        assertThrows(JwtException.class, () -> cache.verify(token + "x"));
+        assertThrows(JwtException.class, () -> cache.verify("not-a-token"));
+        cache.verify(token);
+
+        assertEquals(1.0, registry.get("auth.token.failures").tag("reason", "signature").functionCounter().count());
+        assertEquals(1.0, registry.get("auth.token.failures").tag("reason", "malformed").functionCounter().count());
+        assertEquals(3.0, registry.get("auth.token.verification").functionTimer().count());
+    }
+
+    @Test
+    void verify_whenCacheFull_shouldStayBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 3);
+
+        for (int i = 0; i < 10; i++) {
+            cache.verify(jwtUtil.generateToken(new User("user" + i, "password", new ArrayList<>())));
+        }
+
+        assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    void verify_whenCacheFull_shouldEvictLeastRecentlyUsedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 2);
+        String first = jwtUtil.generateToken(new User("user1", "password", new ArrayList<>()));
+        String second = jwtUtil.generateToken(new User("user2", "password", new ArrayList<>()));
+        String third = jwtUtil.generateToken(new User("user3", "password", new ArrayList<>()));
+
+        cache.verify(first);
+        cache.verify(second);
+        cache.verify(first);
+        cache.verify(third);
+        cache.verify(first);
+        cache.verify(second);
+
+        // The first token was used more recently than the second, so the third displaced the second
+        verify(jwtUtil, times(1)).parseAndVerify(first);
+        verify(jwtUtil, times(2)).parseAndVerify(second);
+        assertEquals(2, cache.getSize());
+    }
+}